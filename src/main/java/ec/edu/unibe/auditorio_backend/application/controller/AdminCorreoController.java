@@ -0,0 +1,26 @@
+package ec.edu.unibe.auditorio_backend.application.controller;
+
+import ec.edu.unibe.auditorio_backend.application.dto.MetricasCorreoDTO;
+import ec.edu.unibe.auditorio_backend.domain.service.DespachadorCorreos;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/correo")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminCorreoController {
+
+    private final DespachadorCorreos despachadorCorreos;
+
+    public AdminCorreoController(DespachadorCorreos despachadorCorreos) {
+        this.despachadorCorreos = despachadorCorreos;
+    }
+
+    @GetMapping("/metricas")
+    public ResponseEntity<MetricasCorreoDTO> metricas() {
+        return ResponseEntity.ok(despachadorCorreos.metricas());
+    }
+}
@@ -36,6 +36,20 @@ public class AdminUsuarioController {
                 usuarioService.listarPaginado(buscar, pagina, tamanio)));
     }
 
+    /**
+     * Modo por cursor de {@code /paginado}: se activa al enviar
+     * {@code cursor}, vacío para la primera página.
+     */
+    @GetMapping(value = "/paginado", params = "cursor")
+    public ResponseEntity<PaginaCursorDTO<UsuarioDTO>> listarPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int tamanio,
+            @RequestParam(required = false) String buscar,
+            @RequestParam(defaultValue = "false") boolean incluirTotal) {
+        return ResponseEntity.ok(
+                usuarioService.listarPorCursor(buscar, cursor, tamanio, incluirTotal));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UsuarioDTO> obtener(@PathVariable Long id) {
         return ResponseEntity.ok(usuarioService.obtener(id));
@@ -1,83 +1,94 @@
 package ec.edu.unibe.auditorio_backend.application.controller;
 
-import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
 import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
+import ec.edu.unibe.auditorio_backend.domain.repository.EventoResumen;
+import ec.edu.unibe.auditorio_backend.domain.service.CacheCalendario;
 import ec.edu.unibe.auditorio_backend.domain.service.EventoAuditorioService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+/**
+ * Las respuestas salen de {@link CacheCalendario} con un ETag; Spring
+ * responde 304 cuando coincide con {@code If-None-Match}.
+ */
 @RestController
 @RequestMapping("/api/calendario")
 public class CalendarioController {
 
+    private static final Set<EstadoEvento> ESTADOS_CALENDARIO =
+            EnumSet.of(EstadoEvento.APROBADO, EstadoEvento.PENDIENTE, EstadoEvento.COMPLETADO);
+
     private final EventoAuditorioService eventoService;
+    private final CacheCalendario cacheCalendario;
 
-    public CalendarioController(EventoAuditorioService eventoService) {
+    public CalendarioController(EventoAuditorioService eventoService, CacheCalendario cacheCalendario) {
         this.eventoService = eventoService;
+        this.cacheCalendario = cacheCalendario;
     }
 
     @GetMapping("/completo")
-    public ResponseEntity<Map<String, List<EventoAuditorio>>> listarEventosCalendarioCompleto(
+    public ResponseEntity<byte[]> listarEventosCalendarioCompleto(
             @RequestParam(required = false) LocalDate fechaInicio,
             @RequestParam(required = false) LocalDate fechaFin,
             @RequestParam(required = false) Long espacioId) {
-
-        List<EventoAuditorio> aprobados = espacioId == null
-                ? eventoService.listarEventosPorEstado(EstadoEvento.APROBADO)
-                : eventoService.listarEventosPorEstadoYEspacio(EstadoEvento.APROBADO, espacioId);
-
-        List<EventoAuditorio> pendientes = espacioId == null
-                ? eventoService.listarEventosPorEstado(EstadoEvento.PENDIENTE)
-                : eventoService.listarEventosPorEstadoYEspacio(EstadoEvento.PENDIENTE, espacioId);
-
-        List<EventoAuditorio> completados = espacioId == null
-                ? eventoService.listarEventosPorEstado(EstadoEvento.COMPLETADO)
-                : eventoService.listarEventosPorEstadoYEspacio(EstadoEvento.COMPLETADO, espacioId);
-
-        if (fechaInicio != null && fechaFin != null) {
-
-            aprobados = aprobados.stream()
-                    .filter(e -> !e.getFechaEvento().isBefore(fechaInicio)
-                            && !e.getFechaEvento().isAfter(fechaFin))
-                    .toList();
-
-            pendientes = pendientes.stream()
-                    .filter(e -> !e.getFechaEvento().isBefore(fechaInicio)
-                            && !e.getFechaEvento().isAfter(fechaFin))
-                    .toList();
-
-            completados = completados.stream()
-                    .filter(e -> !e.getFechaEvento().isBefore(fechaInicio)
-                            && !e.getFechaEvento().isAfter(fechaFin))
-                    .toList();
-        }
-
-        Map<String, List<EventoAuditorio>> respuesta = new HashMap<>();
-
-        respuesta.put("aprobados", aprobados);
-        respuesta.put("pendientes", pendientes);
-        respuesta.put("completados", completados);
-
-        return ResponseEntity.ok(respuesta);
+        return responder(cacheCalendario.obtener(
+                () -> agruparPorEstado(eventoService.listarCalendario(
+                        fechaInicio, fechaFin, espacioId, ESTADOS_CALENDARIO)),
+                "completo", fechaInicio, fechaFin, espacioId));
     }
 
     @GetMapping("/proximos")
-    public ResponseEntity<List<EventoAuditorio>> obtenerEventosProximos(
+    public ResponseEntity<byte[]> obtenerEventosProximos(
             @RequestParam(defaultValue = "7") int dias) {
-        return ResponseEntity.ok(eventoService.obtenerEventosProximos(dias));
+        // Depende del día actual, que forma parte de la clave.
+        return responder(cacheCalendario.obtener(
+                () -> eventoService.obtenerEventosProximos(dias),
+                "proximos", dias, LocalDate.now()));
     }
 
     @GetMapping("/fecha/{fecha}")
-    public ResponseEntity<List<EventoAuditorio>> listarEventosPorFecha(
+    public ResponseEntity<byte[]> listarEventosPorFecha(
             @PathVariable LocalDate fecha,
             @RequestParam(required = false) Long espacioId) {
-        return ResponseEntity.ok(espacioId == null
-                ? eventoService.listarEventosPorFecha(fecha)
-                : eventoService.listarEventosPorFechaYEspacio(fecha, espacioId));
+        return responder(cacheCalendario.obtener(
+                () -> espacioId == null
+                        ? eventoService.listarEventosPorFecha(fecha)
+                        : eventoService.listarEventosPorFechaYEspacio(fecha, espacioId),
+                "fecha", fecha, espacioId));
+    }
+
+    private Map<String, List<EventoResumen>> agruparPorEstado(List<EventoResumen> eventos) {
+        Map<String, List<EventoResumen>> respuesta = new HashMap<>();
+        respuesta.put("aprobados", new ArrayList<>());
+        respuesta.put("pendientes", new ArrayList<>());
+        respuesta.put("completados", new ArrayList<>());
+
+        for (EventoResumen evento : eventos) {
+            String grupo = switch (evento.estado()) {
+                case APROBADO -> "aprobados";
+                case PENDIENTE -> "pendientes";
+                default -> "completados";
+            };
+            respuesta.get(grupo).add(evento);
+        }
+        return respuesta;
+    }
+
+    private ResponseEntity<byte[]> responder(CacheCalendario.Respuesta respuesta) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(respuesta.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(respuesta.json());
     }
 }
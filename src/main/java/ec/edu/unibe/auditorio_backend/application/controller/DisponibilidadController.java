@@ -2,6 +2,7 @@ package ec.edu.unibe.auditorio_backend.application.controller;
 
 import ec.edu.unibe.auditorio_backend.application.dto.DisponibilidadRecursosDTO;
 import ec.edu.unibe.auditorio_backend.application.dto.DisponibilidadRecursosRequest;
+import ec.edu.unibe.auditorio_backend.application.dto.HorarioLibreDTO;
 import ec.edu.unibe.auditorio_backend.domain.service.DisponibilidadService;
 import ec.edu.unibe.auditorio_backend.domain.service.RequerimientoService;
 import jakarta.validation.Valid;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/disponibilidad")
@@ -41,6 +43,26 @@ public class DisponibilidadController {
         return ResponseEntity.ok(disponible);
     }
 
+    @GetMapping("/horarios-libres")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<List<HorarioLibreDTO>> buscarHorariosLibres(
+            @RequestParam LocalDate fechaInicio,
+            @RequestParam LocalDate fechaFin,
+            @RequestParam int duracionMinutos,
+            @RequestParam(defaultValue = "1") int asistentes,
+            @RequestParam(required = false) Long espacioId,
+            @RequestParam(defaultValue = "07:00") String horaDesde,
+            @RequestParam(defaultValue = "22:00") String horaHasta) {
+        return ResponseEntity.ok(disponibilidadService.buscarHorariosLibres(
+                espacioId,
+                fechaInicio,
+                fechaFin,
+                duracionMinutos,
+                asistentes,
+                LocalTime.parse(horaDesde),
+                LocalTime.parse(horaHasta)));
+    }
+
     @PostMapping("/recursos")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public ResponseEntity<DisponibilidadRecursosDTO> verificarRecursos(
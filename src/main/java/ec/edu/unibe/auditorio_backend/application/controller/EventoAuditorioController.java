@@ -2,12 +2,19 @@ package ec.edu.unibe.auditorio_backend.application.controller;
 
 import ec.edu.unibe.auditorio_backend.application.dto.AprobacionEventoDTO;
 import ec.edu.unibe.auditorio_backend.application.dto.DocumentoAprobacionDTO;
+import ec.edu.unibe.auditorio_backend.application.dto.PaginaCursorDTO;
 import ec.edu.unibe.auditorio_backend.application.dto.PaginaDTO;
 import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
 import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
+import ec.edu.unibe.auditorio_backend.domain.repository.EventoResumen;
 import ec.edu.unibe.auditorio_backend.domain.service.EventoAuditorioService;
+import ec.edu.unibe.auditorio_backend.infrastructure.exportacion.FormatoExportacion;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ContentDisposition;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +23,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,25 +40,25 @@ public class EventoAuditorioController {
     }
 
     @GetMapping("/completados")
-    public ResponseEntity<List<EventoAuditorio>> listarCompletados() {
+    public ResponseEntity<List<EventoResumen>> listarCompletados() {
         return ResponseEntity.ok(eventoService.listarEventosCompletados());
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<EventoAuditorio>> listarTodosEventos() {
+    public ResponseEntity<List<EventoResumen>> listarTodosEventos() {
         return ResponseEntity.ok(eventoService.listarEventos());
     }
 
     @GetMapping("/mis-eventos")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<List<EventoAuditorio>> listarMisEventos(Authentication authentication) {
+    public ResponseEntity<List<EventoResumen>> listarMisEventos(Authentication authentication) {
         return ResponseEntity.ok(eventoService.listarEventosPorUsuario(authentication.getName()));
     }
 
     @GetMapping("/paginado")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<PaginaDTO<EventoAuditorio>> listarPaginado(
+    public ResponseEntity<PaginaDTO<EventoResumen>> listarPaginado(
             @RequestParam(defaultValue = "0") int pagina,
             @RequestParam(defaultValue = "5") int tamanio,
             @RequestParam(required = false) String buscar,
@@ -63,20 +71,68 @@ public class EventoAuditorioController {
                 authentication.getName(), administrador, buscar, estado, espacioId, pagina, tamanio)));
     }
 
+    /**
+     * Modo por cursor de {@code /paginado}: se activa al enviar
+     * {@code cursor}, vacío para la primera página.
+     */
+    @GetMapping(value = "/paginado", params = "cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public ResponseEntity<PaginaCursorDTO<EventoResumen>> listarPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "5") int tamanio,
+            @RequestParam(required = false) String buscar,
+            @RequestParam(required = false) EstadoEvento estado,
+            @RequestParam(required = false) Long espacioId,
+            @RequestParam(defaultValue = "false") boolean incluirTotal,
+            Authentication authentication) {
+        boolean administrador = authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
+        return ResponseEntity.ok(eventoService.listarPorCursor(
+                authentication.getName(), administrador, buscar, estado, espacioId,
+                cursor, tamanio, incluirTotal));
+    }
+
+    /**
+     * Descarga las reservas con los filtros de {@code /paginado}. El archivo
+     * se escribe en la respuesta mientras se leen las filas.
+     */
+    @GetMapping("/exportar")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public void exportar(
+            @RequestParam(defaultValue = "CSV") FormatoExportacion formato,
+            @RequestParam(required = false) String buscar,
+            @RequestParam(required = false) EstadoEvento estado,
+            @RequestParam(required = false) Long espacioId,
+            Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        boolean administrador = authentication.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_ADMIN"));
+        response.setContentType(formato.getTipoContenido());
+        response.setHeader(
+                HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment()
+                        .filename("reservas." + formato.getExtension())
+                        .build()
+                        .toString());
+        eventoService.exportar(
+                authentication.getName(), administrador, buscar, estado, espacioId,
+                formato, response.getOutputStream());
+    }
+
     @GetMapping("/aprobados")
-    public ResponseEntity<List<EventoAuditorio>> listarEventosAprobados() {
+    public ResponseEntity<List<EventoResumen>> listarEventosAprobados() {
         return ResponseEntity.ok(eventoService.listarEventosPorEstado(EstadoEvento.APROBADO));
     }
 
     @GetMapping("/pendientes")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<EventoAuditorio>> listarEventosPendientes() {
+    public ResponseEntity<List<EventoResumen>> listarEventosPendientes() {
         return ResponseEntity.ok(eventoService.listarEventosPorEstado(EstadoEvento.PENDIENTE));
     }
 
     @GetMapping("/rechazados")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<EventoAuditorio>> listarEventosRechazados() {
+    public ResponseEntity<List<EventoResumen>> listarEventosRechazados() {
         return ResponseEntity.ok(eventoService.listarEventosPorEstado(EstadoEvento.RECHAZADO));
     }
 
@@ -159,11 +215,18 @@ public class EventoAuditorioController {
                 id, archivo, authentication.getName()));
     }
 
+    /**
+     * El hash del contenido sirve como ETag fuerte: el navegador revalida con
+     * {@code If-None-Match} y recibe 304, y las peticiones {@code Range} del
+     * visor de PDF reciben solo los bytes pedidos. Spring resuelve ambos casos
+     * al devolver el {@link Resource} con estado 200.
+     */
     @GetMapping("/{id}/documento-aprobacion")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public ResponseEntity<byte[]> descargarDocumentoAprobacion(
+    public ResponseEntity<Resource> descargarDocumentoAprobacion(
             @PathVariable Long id,
-            Authentication authentication) {
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            Authentication authentication) throws IOException {
         DocumentoAprobacionDTO documento = eventoService.descargarDocumentoAprobacion(
                 id, authentication.getName());
         MediaType tipo;
@@ -173,16 +236,26 @@ public class EventoAuditorioController {
             tipo = MediaType.APPLICATION_OCTET_STREAM;
         }
 
+        String etag = "\"" + documento.hash() + "\"";
+        Resource contenido = documento.contenido();
+        if (ifRange != null && !ifRange.equals(etag)) {
+            // La copia parcial del cliente es de otro documento: se envía
+            // completo. Spring no aplica rangos a un InputStreamResource.
+            contenido = new InputStreamResource(contenido.getInputStream());
+        }
+
         return ResponseEntity.ok()
                 .contentType(tipo)
-                .contentLength(documento.tamanio())
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
                 .header(
                         HttpHeaders.CONTENT_DISPOSITION,
                         ContentDisposition.attachment()
                                 .filename(documento.nombre(), StandardCharsets.UTF_8)
                                 .build()
                                 .toString())
-                .body(documento.contenido());
+                .body(contenido);
     }
 
     @DeleteMapping("/{id}/documento-aprobacion")
@@ -1,7 +1,10 @@
 package ec.edu.unibe.auditorio_backend.application.controller;
 
+import ec.edu.unibe.auditorio_backend.application.dto.MarcarNotificacionesLeidasDTO;
 import ec.edu.unibe.auditorio_backend.application.dto.NotificacionDTO;
+import ec.edu.unibe.auditorio_backend.application.dto.PaginaCursorDTO;
 import ec.edu.unibe.auditorio_backend.domain.service.NotificacionService;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -26,6 +29,19 @@ public class NotificacionController {
         return ResponseEntity.ok(notificacionService.listarDelUsuario(authentication.getName()));
     }
 
+    /**
+     * Bandeja paginada por cursor; se activa al enviar {@code cursor}, vacío
+     * para la primera página.
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<PaginaCursorDTO<NotificacionDTO>> listarPorCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int tamanio,
+            Authentication authentication) {
+        return ResponseEntity.ok(
+                notificacionService.listarPorCursor(authentication.getName(), cursor, tamanio));
+    }
+
     @GetMapping("/no-leidas/count")
     public ResponseEntity<Map<String, Long>> contarNoLeidas(Authentication authentication) {
         return ResponseEntity.ok(Map.of(
@@ -42,8 +58,18 @@ public class NotificacionController {
     }
 
     @PutMapping("/leer-todas")
-    public ResponseEntity<Void> marcarTodasComoLeidas(Authentication authentication) {
-        notificacionService.marcarTodasComoLeidas(authentication.getName());
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Map<String, Integer>> marcarTodasComoLeidas(Authentication authentication) {
+        return ResponseEntity.ok(Map.of(
+                "actualizadas",
+                notificacionService.marcarTodasComoLeidas(authentication.getName())));
+    }
+
+    @PutMapping("/leer")
+    public ResponseEntity<Map<String, Integer>> marcarComoLeidas(
+            @Valid @RequestBody MarcarNotificacionesLeidasDTO criterio,
+            Authentication authentication) {
+        return ResponseEntity.ok(Map.of(
+                "actualizadas",
+                notificacionService.marcarComoLeidas(authentication.getName(), criterio)));
     }
 }
@@ -0,0 +1,47 @@
+package ec.edu.unibe.auditorio_backend.application.controller;
+
+import ec.edu.unibe.auditorio_backend.application.dto.TicketTiempoRealDTO;
+import ec.edu.unibe.auditorio_backend.domain.service.TicketTiempoRealService;
+import ec.edu.unibe.auditorio_backend.infrastructure.tiemporeal.CanalTiempoReal;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Canal SSE con las notificaciones nuevas del usuario y los cambios de
+ * reservas que afectan al calendario. Como {@code EventSource} no permite
+ * cabeceras, el cliente pide primero un ticket con su JWT y abre el canal
+ * con {@code ?ticket=}; el JWT nunca viaja en la URL.
+ */
+@RestController
+@RequestMapping("/api/tiempo-real")
+@PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+public class TiempoRealController {
+
+    private final CanalTiempoReal canalTiempoReal;
+    private final TicketTiempoRealService ticketService;
+
+    public TiempoRealController(CanalTiempoReal canalTiempoReal, TicketTiempoRealService ticketService) {
+        this.canalTiempoReal = canalTiempoReal;
+        this.ticketService = ticketService;
+    }
+
+    @PostMapping("/ticket")
+    public TicketTiempoRealDTO emitirTicket(Authentication authentication) {
+        String ticket = ticketService.emitir(
+                authentication.getName(),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+        return new TicketTiempoRealDTO(ticket, ticketService.getSegundosValidez());
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribir(Authentication authentication) {
+        return canalTiempoReal.suscribir(authentication.getName());
+    }
+}
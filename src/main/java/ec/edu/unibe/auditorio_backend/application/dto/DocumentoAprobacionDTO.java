@@ -1,8 +1,11 @@
 package ec.edu.unibe.auditorio_backend.application.dto;
 
+import org.springframework.core.io.Resource;
+
 public record DocumentoAprobacionDTO(
         String nombre,
         String tipoContenido,
         long tamanio,
-        byte[] contenido) {
+        String hash,
+        Resource contenido) {
 }
@@ -0,0 +1,16 @@
+package ec.edu.unibe.auditorio_backend.application.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Ventana continua en la que puede iniciar y terminar una reserva de la
+ * duración solicitada, respetando la preparación entre eventos.
+ */
+public record HorarioLibreDTO(
+        Long espacioId,
+        String espacioNombre,
+        LocalDate fecha,
+        LocalTime horaInicio,
+        LocalTime horaFin) {
+}
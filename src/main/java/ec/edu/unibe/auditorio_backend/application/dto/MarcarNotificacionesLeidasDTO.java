@@ -0,0 +1,18 @@
+package ec.edu.unibe.auditorio_backend.application.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record MarcarNotificacionesLeidasDTO(
+        @Size(max = 500, message = "No se pueden marcar más de 500 notificaciones a la vez")
+        List<Long> ids,
+        LocalDateTime hasta) {
+
+    @AssertTrue(message = "Debe indicar los ids o la fecha límite, pero no ambos")
+    public boolean isCriterioValido() {
+        return (ids == null || ids.isEmpty()) != (hasta == null);
+    }
+}
@@ -0,0 +1,18 @@
+package ec.edu.unibe.auditorio_backend.application.dto;
+
+/**
+ * Estado del envío de correos: la cola pendiente y los contadores del
+ * cliente de Brevo desde el arranque de esta instancia.
+ */
+public record MetricasCorreoDTO(
+        long pendientes,
+        long fallidos,
+        String circuito,
+        long enviados,
+        long rechazadosPorProveedor,
+        long erroresDelProveedor,
+        long cortadosPorCircuito,
+        long limitadosPorTasa,
+        double tiempoPromedioMs,
+        double tiempoMaximoMs) {
+}
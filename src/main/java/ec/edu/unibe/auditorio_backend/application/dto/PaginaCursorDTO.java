@@ -0,0 +1,17 @@
+package ec.edu.unibe.auditorio_backend.application.dto;
+
+import java.util.List;
+
+/**
+ * Página de un listado recorrido por cursor. {@code siguiente} y
+ * {@code anterior} son opacos y valen {@code null} cuando no hay más
+ * elementos en esa dirección; {@code totalElementos} solo se calcula si se
+ * solicita.
+ */
+public record PaginaCursorDTO<T>(
+        List<T> contenido,
+        int tamanio,
+        String siguiente,
+        String anterior,
+        Long totalElementos) {
+}
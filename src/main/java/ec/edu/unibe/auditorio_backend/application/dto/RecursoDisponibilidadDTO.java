@@ -1,5 +1,12 @@
 package ec.edu.unibe.auditorio_backend.application.dto;
 
+import java.time.LocalTime;
+
+/**
+ * {@code cantidadOcupada} es el mayor uso simultáneo dentro del horario.
+ * Cuando el recurso no alcanza, {@code faltanteDesde} y {@code faltanteHasta}
+ * delimitan el primer tramo en el que falta.
+ */
 public record RecursoDisponibilidadDTO(
         Long tipoId,
         String nombre,
@@ -7,5 +14,7 @@ public record RecursoDisponibilidadDTO(
         long cantidadOcupada,
         long cantidadDisponible,
         int cantidadSolicitada,
-        boolean disponible) {
+        boolean disponible,
+        LocalTime faltanteDesde,
+        LocalTime faltanteHasta) {
 }
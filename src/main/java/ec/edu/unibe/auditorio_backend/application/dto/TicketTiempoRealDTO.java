@@ -0,0 +1,6 @@
+package ec.edu.unibe.auditorio_backend.application.dto;
+
+public record TicketTiempoRealDTO(
+        String ticket,
+        long segundosValidez) {
+}
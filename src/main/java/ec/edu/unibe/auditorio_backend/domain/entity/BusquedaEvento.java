@@ -0,0 +1,33 @@
+package ec.edu.unibe.auditorio_backend.domain.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Documento de búsqueda de una reserva: sus textos ya unidos, en minúsculas
+ * y sin tildes. Se indexa en PostgreSQL para texto completo y trigramas; lo
+ * mantiene {@code BusquedaEventosService}.
+ */
+@Entity
+@Table(name = "eventos_busqueda")
+public class BusquedaEvento {
+
+    @Id
+    @Column(name = "evento_id")
+    private Long eventoId;
+
+    // Nombre, descripción y responsable.
+    @Column(nullable = false, columnDefinition = "text")
+    private String texto;
+
+    @Column(name = "texto_solicitante", nullable = false, columnDefinition = "text")
+    private String textoSolicitante;
+
+    protected BusquedaEvento() {}
+
+    public Long getEventoId() { return eventoId; }
+    public String getTexto() { return texto; }
+    public String getTextoSolicitante() { return textoSolicitante; }
+}
@@ -0,0 +1,78 @@
+package ec.edu.unibe.auditorio_backend.domain.entity;
+
+import ec.edu.unibe.auditorio_backend.domain.enums.EstadoCorreo;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Correo por enviar, guardado en la misma transacción que el cambio que lo
+ * origina. {@code mensaje} es el cuerpo JSON listo para la API de Brevo; el
+ * despachador lo entrega después, con reintentos, y deja en
+ * {@code FALLIDO} los que agotan sus intentos.
+ */
+@Entity
+@Table(name = "correos_pendientes", indexes = {
+        @Index(name = "idx_correo_estado_proximo", columnList = "estado, proximo_intento")
+})
+public class CorreoPendiente {
+
+    private static final ZoneId ZONA_ECUADOR = ZoneId.of("America/Guayaquil");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String referencia;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String mensaje;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoCorreo estado = EstadoCorreo.PENDIENTE;
+
+    @Column(nullable = false)
+    private int intentos;
+
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "ultimo_error", length = 1000)
+    private String ultimoError;
+
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    private LocalDateTime creadoEn;
+
+    @Column(name = "enviado_en")
+    private LocalDateTime enviadoEn;
+
+    protected CorreoPendiente() {}
+
+    public CorreoPendiente(String referencia, String mensaje) {
+        this.referencia = referencia;
+        this.mensaje = mensaje;
+    }
+
+    @PrePersist
+    public void antesDeGuardar() {
+        if (creadoEn == null) {
+            creadoEn = LocalDateTime.now(ZONA_ECUADOR);
+        }
+        if (proximoIntento == null) {
+            proximoIntento = creadoEn;
+        }
+    }
+
+    public Long getId() { return id; }
+    public String getReferencia() { return referencia; }
+    public String getMensaje() { return mensaje; }
+    public EstadoCorreo getEstado() { return estado; }
+    public int getIntentos() { return intentos; }
+    public LocalDateTime getProximoIntento() { return proximoIntento; }
+    public String getUltimoError() { return ultimoError; }
+    public LocalDateTime getCreadoEn() { return creadoEn; }
+    public LocalDateTime getEnviadoEn() { return enviadoEn; }
+}
@@ -0,0 +1,49 @@
+package ec.edu.unibe.auditorio_backend.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Documento que una transacción acaba de guardar en el almacén y que todavía
+ * no se sabe si quedará referenciado. Mientras exista la fila, ninguna
+ * instancia borra el archivo; la fila se elimina al terminar esa transacción
+ * o, si la instancia cayó antes, cuando vence.
+ */
+@Entity
+@Table(name = "documentos_en_curso", indexes = {
+        @Index(name = "idx_documento_en_curso_hash", columnList = "hash"),
+        @Index(name = "idx_documento_en_curso_registrado", columnList = "registrado_en")
+})
+public class DocumentoEnCurso {
+
+    private static final ZoneId ZONA_ECUADOR = ZoneId.of("America/Guayaquil");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String hash;
+
+    @Column(name = "registrado_en", nullable = false, updatable = false)
+    private LocalDateTime registradoEn;
+
+    protected DocumentoEnCurso() {}
+
+    public DocumentoEnCurso(String hash) {
+        this.hash = hash;
+    }
+
+    @PrePersist
+    public void antesDeGuardar() {
+        if (registradoEn == null) {
+            registradoEn = LocalDateTime.now(ZONA_ECUADOR);
+        }
+    }
+
+    public Long getId() { return id; }
+    public String getHash() { return hash; }
+    public LocalDateTime getRegistradoEn() { return registradoEn; }
+}
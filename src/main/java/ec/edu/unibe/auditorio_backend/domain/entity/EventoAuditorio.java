@@ -12,7 +12,14 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 
 @Entity
-@Table(name = "eventos_auditorio")
+@Table(name = "eventos_auditorio", indexes = {
+        @Index(name = "idx_evento_estado_fecha_fin", columnList = "estado, fecha_evento, hora_fin"),
+        @Index(name = "idx_evento_espacio_fecha_estado", columnList = "espacio_id, fecha_evento, estado"),
+        @Index(name = "idx_evento_fecha_hora_id", columnList = "fecha_evento, hora_inicio, id"),
+        @Index(name = "idx_evento_solicitante_fecha_hora_id",
+                columnList = "usuario_solicitante_id, fecha_evento, hora_inicio, id"),
+        @Index(name = "idx_evento_documento_hash", columnList = "documento_aprobacion_hash")
+})
 public class EventoAuditorio {
 
     @Id
@@ -107,10 +114,10 @@ public class EventoAuditorio {
     @Column(name = "documento_aprobacion_tamanio")
     private Long documentoAprobacionTamanio;
 
-    @Basic(fetch = FetchType.LAZY)
-    @Column(name = "documento_aprobacion_contenido", columnDefinition = "bytea")
+    // SHA-256 del archivo en AlmacenDocumentos; el contenido no vive en esta tabla.
+    @Column(name = "documento_aprobacion_hash", length = 64)
     @JsonIgnore
-    private byte[] documentoAprobacionContenido;
+    private String documentoAprobacionHash;
 
     // Constructores
     public EventoAuditorio() {
@@ -204,10 +211,10 @@ public class EventoAuditorio {
     public Long getDocumentoAprobacionTamanio() { return documentoAprobacionTamanio; }
     public void setDocumentoAprobacionTamanio(Long tamanio) { this.documentoAprobacionTamanio = tamanio; }
     @JsonIgnore
-    public byte[] getDocumentoAprobacionContenido() { return documentoAprobacionContenido; }
+    public String getDocumentoAprobacionHash() { return documentoAprobacionHash; }
     @JsonIgnore
-    public void setDocumentoAprobacionContenido(byte[] contenido) { this.documentoAprobacionContenido = contenido; }
+    public void setDocumentoAprobacionHash(String hash) { this.documentoAprobacionHash = hash; }
     public boolean isTieneDocumentoAprobacion() {
-        return documentoAprobacionContenido != null && documentoAprobacionContenido.length > 0;
+        return documentoAprobacionTamanio != null && documentoAprobacionTamanio > 0;
     }
 }
@@ -9,7 +9,8 @@ import java.time.ZoneId;
 @Entity
 @Table(name = "notificaciones", indexes = {
         @Index(name = "idx_notificacion_destinatario_leida", columnList = "destinatario_id, leida"),
-        @Index(name = "idx_notificacion_creada", columnList = "creada_en")
+        @Index(name = "idx_notificacion_creada", columnList = "creada_en"),
+        @Index(name = "idx_notificacion_destinatario_creada_id", columnList = "destinatario_id, creada_en, id")
 })
 public class Notificacion {
 
@@ -0,0 +1,49 @@
+package ec.edu.unibe.auditorio_backend.domain.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Autorización de un solo uso para abrir el canal en tiempo real. Como
+ * {@code EventSource} no envía cabeceras, el navegador pasa el ticket en la
+ * URL en lugar del JWT; solo se guarda el SHA-256 del ticket.
+ */
+@Entity
+@Table(name = "tickets_tiempo_real", indexes = {
+        @Index(name = "idx_ticket_tiempo_real_vence", columnList = "vence_en")
+})
+public class TicketTiempoReal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "codigo_hash", nullable = false, unique = true, length = 64)
+    private String codigoHash;
+
+    @Column(nullable = false, length = 100)
+    private String username;
+
+    // Autoridades del JWT con que se emitió, separadas por comas.
+    @Column(nullable = false, length = 200)
+    private String autoridades;
+
+    @Column(name = "vence_en", nullable = false)
+    private LocalDateTime venceEn;
+
+    protected TicketTiempoReal() {}
+
+    public TicketTiempoReal(String codigoHash, String username, String autoridades, LocalDateTime venceEn) {
+        this.codigoHash = codigoHash;
+        this.username = username;
+        this.autoridades = autoridades;
+        this.venceEn = venceEn;
+    }
+
+    public Long getId() { return id; }
+    public String getCodigoHash() { return codigoHash; }
+    public String getUsername() { return username; }
+    public String getAutoridades() { return autoridades; }
+    public LocalDateTime getVenceEn() { return venceEn; }
+}
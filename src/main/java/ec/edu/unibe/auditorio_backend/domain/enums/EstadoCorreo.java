@@ -0,0 +1,7 @@
+package ec.edu.unibe.auditorio_backend.domain.enums;
+
+public enum EstadoCorreo {
+    PENDIENTE,
+    ENVIADO,
+    FALLIDO
+}
@@ -0,0 +1,41 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.BusquedaEvento;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface BusquedaEventoRepository extends JpaRepository<BusquedaEvento, Long> {
+
+    String SELECCION_TEXTOS =
+            "SELECT new ec.edu.unibe.auditorio_backend.domain.repository.TextoBusquedaEvento(" +
+            "e.id, e.nombreEvento, e.descripcion, r.nombre, u.nombre, u.apellido) " +
+            "FROM EventoAuditorio e LEFT JOIN e.responsable r LEFT JOIN e.usuarioSolicitante u ";
+
+    @Query(SELECCION_TEXTOS + "WHERE e.id IN :eventoIds")
+    List<TextoBusquedaEvento> textosDeEventos(@Param("eventoIds") Collection<Long> eventoIds);
+
+    @Query(SELECCION_TEXTOS + "WHERE u.id = :usuarioId")
+    List<TextoBusquedaEvento> textosDeSolicitante(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT e.id FROM EventoAuditorio e " +
+           "WHERE NOT EXISTS (SELECT 1 FROM BusquedaEvento b WHERE b.eventoId = e.id) " +
+           "ORDER BY e.id")
+    List<Long> idsSinDocumento(Limit limite);
+
+    @Modifying
+    @Query(value = "INSERT INTO eventos_busqueda (evento_id, texto, texto_solicitante) " +
+                   "VALUES (:eventoId, :texto, :textoSolicitante) " +
+                   "ON CONFLICT (evento_id) DO UPDATE " +
+                   "SET texto = EXCLUDED.texto, texto_solicitante = EXCLUDED.texto_solicitante",
+           nativeQuery = true)
+    void guardar(
+            @Param("eventoId") Long eventoId,
+            @Param("texto") String texto,
+            @Param("textoSolicitante") String textoSolicitante);
+}
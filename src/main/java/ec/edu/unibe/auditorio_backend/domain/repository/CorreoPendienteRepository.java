@@ -0,0 +1,49 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.CorreoPendiente;
+import ec.edu.unibe.auditorio_backend.domain.enums.EstadoCorreo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CorreoPendienteRepository extends JpaRepository<CorreoPendiente, Long> {
+
+    long countByEstado(EstadoCorreo estado);
+
+    /**
+     * Toma los correos vencidos sin esperar a los que otra instancia ya
+     * bloqueó. Debe ejecutarse en la transacción que luego los aplaza.
+     */
+    @Query(value = "SELECT id FROM correos_pendientes " +
+                   "WHERE estado = 'PENDIENTE' AND proximo_intento <= :ahora " +
+                   "ORDER BY proximo_intento LIMIT :limite FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> bloquearVencidos(@Param("ahora") LocalDateTime ahora, @Param("limite") int limite);
+
+    @Modifying
+    @Query("UPDATE CorreoPendiente c SET c.proximoIntento = :hasta WHERE c.id IN :ids")
+    int aplazar(@Param("ids") Collection<Long> ids, @Param("hasta") LocalDateTime hasta);
+
+    @Modifying
+    @Query("UPDATE CorreoPendiente c SET c.estado = 'ENVIADO', c.intentos = c.intentos + 1, " +
+           "c.enviadoEn = :ahora, c.ultimoError = null WHERE c.id = :id")
+    int marcarEnviado(@Param("id") Long id, @Param("ahora") LocalDateTime ahora);
+
+    @Modifying
+    @Query("UPDATE CorreoPendiente c SET c.intentos = c.intentos + 1, " +
+           "c.proximoIntento = :proximoIntento, c.ultimoError = :error WHERE c.id = :id")
+    int reprogramar(
+            @Param("id") Long id,
+            @Param("proximoIntento") LocalDateTime proximoIntento,
+            @Param("error") String error);
+
+    @Modifying
+    @Query("UPDATE CorreoPendiente c SET c.estado = 'FALLIDO', c.intentos = c.intentos + 1, " +
+           "c.ultimoError = :error WHERE c.id = :id")
+    int marcarFallido(@Param("id") Long id, @Param("error") String error);
+}
@@ -0,0 +1,19 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+/**
+ * Datos del documento de aprobación de una reserva, sin cargar la reserva ni
+ * sus relaciones. Indica qué documento abrir en el almacén y a quién
+ * pertenece la reserva para validar el acceso.
+ */
+public record DocumentoAprobacionMetadatos(
+        Long eventoId,
+        Long solicitanteId,
+        String nombre,
+        String tipoContenido,
+        Long tamanio,
+        String hash) {
+
+    public boolean tieneDocumento() {
+        return tamanio != null && tamanio > 0 && hash != null;
+    }
+}
@@ -0,0 +1,30 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.DocumentoEnCurso;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DocumentoEnCursoRepository extends JpaRepository<DocumentoEnCurso, Long> {
+
+    /**
+     * Serializa, entre todas las instancias, el registro y el borrado de un
+     * mismo documento hasta finalizar la transacción actual. Usa la forma de
+     * dos claves para no compartir espacio con los bloqueos de reservas.
+     */
+    @Query(value = "SELECT :hash FROM pg_advisory_xact_lock(2, hashtext(:hash))", nativeQuery = true)
+    String bloquearDocumento(@Param("hash") String hash);
+
+    boolean existsByHash(String hash);
+
+    @Query("SELECT DISTINCT d.hash FROM DocumentoEnCurso d WHERE d.registradoEn < :limite")
+    List<String> listarHashesVencidos(@Param("limite") LocalDateTime limite);
+
+    @Modifying
+    @Query("DELETE FROM DocumentoEnCurso d WHERE d.registradoEn < :limite")
+    int eliminarVencidos(@Param("limite") LocalDateTime limite);
+}
@@ -8,20 +8,25 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface EventoAuditorioRepository extends JpaRepository<EventoAuditorio, Long>, JpaSpecificationExecutor<EventoAuditorio> {
+public interface EventoAuditorioRepository extends JpaRepository<EventoAuditorio, Long>, JpaSpecificationExecutor<EventoAuditorio>,
+        EventoResumenRepository {
 
     /**
-     * Serializa las operaciones de reserva de una misma fecha hasta finalizar
-     * la transacción actual. Evita que dos solicitudes simultáneas validen el
-     * mismo horario como disponible antes de que alguna sea confirmada.
+     * Serializa las operaciones de reserva que comparten la clave hasta
+     * finalizar la transacción actual. Evita que dos solicitudes simultáneas
+     * validen el mismo horario como disponible antes de que alguna sea
+     * confirmada.
      */
-    @Query(value = "SELECT :claveFecha FROM pg_advisory_xact_lock(:claveFecha)", nativeQuery = true)
-    long bloquearFechaParaReserva(@Param("claveFecha") long claveFecha);
+    @Query(value = "SELECT :clave FROM pg_advisory_xact_lock(:clave)", nativeQuery = true)
+    long bloquearClaveDeReserva(@Param("clave") long clave);
 
     @Modifying
     @Query("UPDATE EventoAuditorio e SET e.espacio = :espacio WHERE e.espacio IS NULL")
@@ -35,6 +40,23 @@ public interface EventoAuditorioRepository extends JpaRepository<EventoAuditorio
 
     List<EventoAuditorio> findByEstado(EstadoEvento estado);
 
+    @Query("SELECT e.id FROM EventoAuditorio e WHERE e.estado = 'APROBADO' " +
+           "AND (e.fechaEvento < :hoy OR (e.fechaEvento = :hoy AND e.horaFin <= :hora))")
+    List<Long> findIdsAprobadosFinalizados(
+            @Param("hoy") LocalDate hoy,
+            @Param("hora") LocalTime hora);
+
+    /**
+     * Vuelve a exigir el estado APROBADO por si alguna reserva cambió entre la
+     * lectura de los identificadores y esta actualización.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE EventoAuditorio e " +
+           "SET e.estado = ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento.COMPLETADO " +
+           "WHERE e.id IN :ids AND e.estado = 'APROBADO'")
+    int completarAprobados(@Param("ids") List<Long> ids);
+
     List<EventoAuditorio> findByEstadoAndEspacioId(EstadoEvento estado, Long espacioId);
 
     
@@ -46,6 +68,14 @@ public interface EventoAuditorioRepository extends JpaRepository<EventoAuditorio
     @Query("SELECT e FROM EventoAuditorio e WHERE e.responsable.id = :responsableId")
     List<EventoAuditorio> findByResponsableId(@Param("responsableId") Long responsableId);
     
+    boolean existsByDocumentoAprobacionHash(String documentoAprobacionHash);
+
+    @Query("SELECT new ec.edu.unibe.auditorio_backend.domain.repository.DocumentoAprobacionMetadatos(" +
+           "e.id, e.usuarioSolicitante.id, e.documentoAprobacionNombre, e.documentoAprobacionTipo, " +
+           "e.documentoAprobacionTamanio, e.documentoAprobacionHash) " +
+           "FROM EventoAuditorio e WHERE e.id = :eventoId")
+    Optional<DocumentoAprobacionMetadatos> buscarMetadatosDocumento(@Param("eventoId") Long eventoId);
+
     boolean existsByFechaEventoAndHoraInicioLessThanAndHoraFinGreaterThan(
             LocalDate fechaEvento,
             LocalTime horaFin,
@@ -63,4 +93,27 @@ public interface EventoAuditorioRepository extends JpaRepository<EventoAuditorio
             @Param("horaInicio") LocalTime horaInicio,
             @Param("horaFin") LocalTime horaFin,
             @Param("eventoId") Long eventoId);
+
+    @Query("SELECT new ec.edu.unibe.auditorio_backend.domain.repository.OcupacionEspacio(" +
+           "e.id, es.id, e.fechaEvento, e.horaInicio, e.horaFin, e.estado) " +
+           "FROM EventoAuditorio e JOIN e.espacio es " +
+           "WHERE e.fechaEvento >= :desde AND e.estado IN ('PENDIENTE', 'APROBADO')")
+    List<OcupacionEspacio> listarOcupacionesDesde(@Param("desde") LocalDate desde);
+
+    @Query("SELECT new ec.edu.unibe.auditorio_backend.domain.repository.OcupacionEspacio(" +
+           "e.id, es.id, e.fechaEvento, e.horaInicio, e.horaFin, e.estado) " +
+           "FROM EventoAuditorio e JOIN e.espacio es WHERE e.id = :eventoId")
+    Optional<OcupacionEspacio> buscarOcupacion(@Param("eventoId") Long eventoId);
+
+    @Query("SELECT new ec.edu.unibe.auditorio_backend.domain.repository.OcupacionEspacio(" +
+           "e.id, es.id, e.fechaEvento, e.horaInicio, e.horaFin, e.estado) " +
+           "FROM EventoAuditorio e JOIN e.espacio es " +
+           "WHERE e.fechaEvento BETWEEN :desde AND :hasta " +
+           "AND e.estado IN ('PENDIENTE', 'APROBADO') " +
+           "AND (:espacioId IS NULL OR es.id = :espacioId) " +
+           "ORDER BY es.id, e.fechaEvento, e.horaInicio")
+    List<OcupacionEspacio> listarOcupacionesEntre(
+            @Param("desde") LocalDate desde,
+            @Param("hasta") LocalDate hasta,
+            @Param("espacioId") Long espacioId);
 }
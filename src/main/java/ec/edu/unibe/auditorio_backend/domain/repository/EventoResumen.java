@@ -0,0 +1,123 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Reserva tal como se muestra en los listados. Conserva los nombres de las
+ * propiedades de {@code EventoAuditorio}, pero se arma con una consulta por
+ * página y una más para los requerimientos, sin recorrer asociaciones
+ * perezosas ni leer el contenido del documento de aprobación.
+ */
+public record EventoResumen(
+        Long id,
+        String nombreEvento,
+        String descripcion,
+        LocalDate fechaEvento,
+        LocalTime horaInicio,
+        LocalTime horaFin,
+        int numeroAsistentes,
+        boolean publicoExterno,
+        String empresaPublicoExterno,
+        boolean publicoInterno,
+        String carreraPublicoInterno,
+        boolean requiereRegistroPrevio,
+        String tipoDisposicion,
+        EstadoEvento estado,
+        String motivoRechazo,
+        String documentoAprobacionNombre,
+        String documentoAprobacionTipo,
+        Long documentoAprobacionTamanio,
+        boolean tieneDocumentoAprobacion,
+        EspacioResumen espacio,
+        ResponsableResumen responsable,
+        SolicitanteResumen usuarioSolicitante,
+        List<RequerimientoResumen> requerimientos) {
+
+    /**
+     * Constructor plano para la consulta por criterios; los requerimientos se
+     * agregan después con {@link #conRequerimientos}.
+     */
+    public EventoResumen(
+            Long id,
+            String nombreEvento,
+            String descripcion,
+            LocalDate fechaEvento,
+            LocalTime horaInicio,
+            LocalTime horaFin,
+            int numeroAsistentes,
+            boolean publicoExterno,
+            String empresaPublicoExterno,
+            boolean publicoInterno,
+            String carreraPublicoInterno,
+            boolean requiereRegistroPrevio,
+            String tipoDisposicion,
+            EstadoEvento estado,
+            String motivoRechazo,
+            String documentoAprobacionNombre,
+            String documentoAprobacionTipo,
+            Long documentoAprobacionTamanio,
+            Long espacioId,
+            String espacioCodigo,
+            String espacioNombre,
+            String espacioBloque,
+            String espacioPiso,
+            Integer espacioAforo,
+            Long responsableId,
+            String responsableNombre,
+            String responsableCorreo,
+            String responsableTelefono,
+            Long solicitanteId,
+            String solicitanteUsername,
+            String solicitanteNombre,
+            String solicitanteApellido,
+            String solicitanteCorreo,
+            String solicitanteTelefono) {
+        this(id, nombreEvento, descripcion, fechaEvento, horaInicio, horaFin, numeroAsistentes,
+                publicoExterno, empresaPublicoExterno, publicoInterno, carreraPublicoInterno,
+                requiereRegistroPrevio, tipoDisposicion, estado, motivoRechazo,
+                documentoAprobacionNombre, documentoAprobacionTipo, documentoAprobacionTamanio,
+                documentoAprobacionTamanio != null && documentoAprobacionTamanio > 0,
+                espacioId == null ? null : new EspacioResumen(
+                        espacioId, espacioCodigo, espacioNombre, espacioBloque, espacioPiso, espacioAforo),
+                responsableId == null ? null : new ResponsableResumen(
+                        responsableId, responsableNombre, responsableCorreo, responsableTelefono),
+                solicitanteId == null ? null : new SolicitanteResumen(
+                        solicitanteId, solicitanteUsername, solicitanteNombre, solicitanteApellido,
+                        solicitanteCorreo, solicitanteTelefono),
+                List.of());
+    }
+
+    public EventoResumen conRequerimientos(List<RequerimientoResumen> requerimientos) {
+        return new EventoResumen(id, nombreEvento, descripcion, fechaEvento, horaInicio, horaFin,
+                numeroAsistentes, publicoExterno, empresaPublicoExterno, publicoInterno,
+                carreraPublicoInterno, requiereRegistroPrevio, tipoDisposicion, estado, motivoRechazo,
+                documentoAprobacionNombre, documentoAprobacionTipo, documentoAprobacionTamanio,
+                tieneDocumentoAprobacion, espacio, responsable, usuarioSolicitante,
+                List.copyOf(requerimientos));
+    }
+
+    public record EspacioResumen(
+            Long id,
+            String codigo,
+            String nombre,
+            String bloque,
+            String piso,
+            Integer aforo) {
+    }
+
+    public record ResponsableResumen(Long id, String nombre, String correo, String telefono) {
+    }
+
+    public record SolicitanteResumen(
+            Long id,
+            String username,
+            String nombre,
+            String apellido,
+            String correoInstitucional,
+            String telefono) {
+    }
+}
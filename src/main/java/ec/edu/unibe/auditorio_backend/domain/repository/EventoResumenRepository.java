@@ -0,0 +1,29 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Listados de reservas como {@link EventoResumen}, con los mismos filtros
+ * ({@link Specification}) que las consultas de entidades.
+ */
+public interface EventoResumenRepository {
+
+    Page<EventoResumen> buscarResumenes(Specification<EventoAuditorio> filtros, Pageable pagina);
+
+    List<EventoResumen> buscarResumenes(Specification<EventoAuditorio> filtros, Sort orden);
+
+    List<EventoResumen> buscarResumenes(Specification<EventoAuditorio> filtros, Sort orden, int limite);
+
+    /**
+     * Recorre el resultado con un cursor de solo avance que trae las filas
+     * por bloques. Debe consumirse y cerrarse dentro de una transacción.
+     */
+    Stream<EventoResumen> transmitirResumenes(Specification<EventoAuditorio> filtros, Sort orden);
+}
@@ -0,0 +1,135 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.Espacio;
+import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
+import ec.edu.unibe.auditorio_backend.domain.entity.Responsable;
+import ec.edu.unibe.auditorio_backend.domain.entity.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+class EventoResumenRepositoryImpl implements EventoResumenRepository {
+
+    private static final int FILAS_POR_BLOQUE = 500;
+
+    private final EntityManager entityManager;
+
+    EventoResumenRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<EventoResumen> buscarResumenes(Specification<EventoAuditorio> filtros, Pageable pagina) {
+        TypedQuery<EventoResumen> consulta = entityManager.createQuery(seleccionar(filtros, pagina.getSort()));
+        if (pagina.isPaged()) {
+            consulta.setFirstResult((int) pagina.getOffset());
+            consulta.setMaxResults(pagina.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(consulta.getResultList(), pagina, () -> contar(filtros));
+    }
+
+    @Override
+    public List<EventoResumen> buscarResumenes(Specification<EventoAuditorio> filtros, Sort orden) {
+        return entityManager.createQuery(seleccionar(filtros, orden)).getResultList();
+    }
+
+    @Override
+    public List<EventoResumen> buscarResumenes(Specification<EventoAuditorio> filtros, Sort orden, int limite) {
+        return entityManager.createQuery(seleccionar(filtros, orden))
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<EventoResumen> transmitirResumenes(Specification<EventoAuditorio> filtros, Sort orden) {
+        return entityManager.createQuery(seleccionar(filtros, orden))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, FILAS_POR_BLOQUE)
+                .getResultStream();
+    }
+
+    private CriteriaQuery<EventoResumen> seleccionar(Specification<EventoAuditorio> filtros, Sort orden) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventoResumen> query = cb.createQuery(EventoResumen.class);
+        Root<EventoAuditorio> evento = query.from(EventoAuditorio.class);
+        Join<EventoAuditorio, Espacio> espacio = evento.join("espacio", JoinType.LEFT);
+        Join<EventoAuditorio, Responsable> responsable = evento.join("responsable", JoinType.LEFT);
+        Join<EventoAuditorio, Usuario> solicitante = evento.join("usuarioSolicitante", JoinType.LEFT);
+
+        query.select(cb.construct(
+                EventoResumen.class,
+                evento.get("id"),
+                evento.get("nombreEvento"),
+                evento.get("descripcion"),
+                evento.get("fechaEvento"),
+                evento.get("horaInicio"),
+                evento.get("horaFin"),
+                evento.get("numeroAsistentes"),
+                evento.get("publicoExterno"),
+                evento.get("empresaPublicoExterno"),
+                evento.get("publicoInterno"),
+                evento.get("carreraPublicoInterno"),
+                evento.get("requiereRegistroPrevio"),
+                evento.get("tipoDisposicion"),
+                evento.get("estado"),
+                evento.get("motivoRechazo"),
+                evento.get("documentoAprobacionNombre"),
+                evento.get("documentoAprobacionTipo"),
+                evento.get("documentoAprobacionTamanio"),
+                espacio.get("id"),
+                espacio.get("codigo"),
+                espacio.get("nombre"),
+                espacio.get("bloque"),
+                espacio.get("piso"),
+                espacio.get("aforo"),
+                responsable.get("id"),
+                responsable.get("nombre"),
+                responsable.get("correo"),
+                responsable.get("telefono"),
+                solicitante.get("id"),
+                solicitante.get("username"),
+                solicitante.get("nombre"),
+                solicitante.get("apellido"),
+                solicitante.get("correoInstitucional"),
+                solicitante.get("telefono")));
+
+        Predicate condicion = filtros.toPredicate(evento, query, cb);
+        if (condicion != null) {
+            query.where(condicion);
+        }
+        // Los filtros pueden anteponer su propio orden, como la relevancia.
+        List<Order> ordenes = new ArrayList<>(query.getOrderList());
+        ordenes.addAll(QueryUtils.toOrders(orden, evento, cb));
+        query.orderBy(ordenes);
+        return query;
+    }
+
+    private long contar(Specification<EventoAuditorio> filtros) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<EventoAuditorio> evento = query.from(EventoAuditorio.class);
+        query.select(cb.count(evento));
+
+        Predicate condicion = filtros.toPredicate(evento, query, cb);
+        if (condicion != null) {
+            query.where(condicion);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
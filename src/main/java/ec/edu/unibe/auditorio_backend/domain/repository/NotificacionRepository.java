@@ -2,18 +2,38 @@ package ec.edu.unibe.auditorio_backend.domain.repository;
 
 import ec.edu.unibe.auditorio_backend.domain.entity.Notificacion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface NotificacionRepository extends JpaRepository<Notificacion, Long> {
+public interface NotificacionRepository
+        extends JpaRepository<Notificacion, Long>, JpaSpecificationExecutor<Notificacion> {
     List<Notificacion> findByDestinatarioIdOrderByCreadaEnDesc(Long destinatarioId);
-    long countByDestinatarioIdAndLeidaFalse(Long destinatarioId);
+    long countByDestinatarioUsernameAndLeidaFalse(String username);
     Optional<Notificacion> findByIdAndDestinatarioId(Long id, Long destinatarioId);
-    List<Notificacion> findByDestinatarioIdAndLeidaFalse(Long destinatarioId);
+
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.leida = true " +
+           "WHERE n.destinatario.id = :destinatarioId AND n.leida = false")
+    int marcarTodasComoLeidas(@Param("destinatarioId") Long destinatarioId);
+
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.leida = true " +
+           "WHERE n.destinatario.id = :destinatarioId AND n.leida = false AND n.id IN :ids")
+    int marcarComoLeidas(@Param("destinatarioId") Long destinatarioId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Notificacion n SET n.leida = true " +
+           "WHERE n.destinatario.id = :destinatarioId AND n.leida = false AND n.creadaEn <= :hasta")
+    int marcarComoLeidasHasta(
+            @Param("destinatarioId") Long destinatarioId,
+            @Param("hasta") LocalDateTime hasta);
 
     @Modifying
     @Query("UPDATE Notificacion n SET n.evento = null WHERE n.evento.id = :eventoId")
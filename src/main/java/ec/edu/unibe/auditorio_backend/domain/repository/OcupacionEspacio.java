@@ -0,0 +1,19 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Vista mínima de una reserva con lo necesario para calcular la ocupación de
+ * un espacio, sin cargar responsable, solicitante ni recursos.
+ */
+public record OcupacionEspacio(
+        Long eventoId,
+        Long espacioId,
+        LocalDate fecha,
+        LocalTime horaInicio,
+        LocalTime horaFin,
+        EstadoEvento estado) {
+}
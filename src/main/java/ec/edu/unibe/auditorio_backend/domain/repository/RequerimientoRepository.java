@@ -7,21 +7,34 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface RequerimientoRepository 
         extends JpaRepository<Requerimiento, Long> {
 
-    @Query("SELECT COALESCE(SUM(r.cantidad), 0) FROM Requerimiento r " +
+    /**
+     * Devuelve en una sola consulta cada uso de los tipos solicitados que se
+     * cruza con el horario, para calcular el pico de uso simultáneo.
+     */
+    @Query("SELECT new ec.edu.unibe.auditorio_backend.domain.repository.UsoRecurso(" +
+           "r.tipo.id, r.cantidad, e.horaInicio, e.horaFin) FROM Requerimiento r " +
            "JOIN r.evento e " +
-           "WHERE r.tipo.id = :tipoId " +
+           "WHERE r.tipo.id IN :tipoIds " +
            "AND e.fechaEvento = :fecha " +
            "AND e.estado IN ('PENDIENTE', 'APROBADO') " +
            "AND (:eventoId IS NULL OR e.id <> :eventoId) " +
            "AND e.horaInicio < :horaFin AND e.horaFin > :horaInicio")
-    long cantidadReservadaEnHorario(
-            @Param("tipoId") Long tipoId,
+    List<UsoRecurso> usosEnHorario(
+            @Param("tipoIds") Collection<Long> tipoIds,
             @Param("fecha") LocalDate fecha,
             @Param("horaInicio") LocalTime horaInicio,
             @Param("horaFin") LocalTime horaFin,
             @Param("eventoId") Long eventoId);
+
+    @Query("SELECT new ec.edu.unibe.auditorio_backend.domain.repository.RequerimientoResumen(" +
+           "r.id, r.evento.id, t.id, t.nombre, r.cantidad, r.requerido) " +
+           "FROM Requerimiento r JOIN r.tipo t " +
+           "WHERE r.evento.id IN :eventoIds ORDER BY r.id")
+    List<RequerimientoResumen> listarResumenesDeEventos(@Param("eventoIds") Collection<Long> eventoIds);
 }
@@ -0,0 +1,28 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Requerimiento de una reserva en los listados, con el tipo reducido a lo
+ * que se muestra.
+ */
+public record RequerimientoResumen(
+        Long id,
+        @JsonIgnore Long eventoId,
+        TipoResumen tipo,
+        int cantidad,
+        boolean requerido) {
+
+    public RequerimientoResumen(
+            Long id,
+            Long eventoId,
+            Long tipoId,
+            String tipoNombre,
+            int cantidad,
+            boolean requerido) {
+        this(id, eventoId, new TipoResumen(tipoId, tipoNombre), cantidad, requerido);
+    }
+
+    public record TipoResumen(Long id, String nombre) {
+    }
+}
@@ -0,0 +1,13 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+/**
+ * Textos de una reserva con los que se arma su documento de búsqueda.
+ */
+public record TextoBusquedaEvento(
+        Long eventoId,
+        String nombreEvento,
+        String descripcion,
+        String responsable,
+        String solicitanteNombre,
+        String solicitanteApellido) {
+}
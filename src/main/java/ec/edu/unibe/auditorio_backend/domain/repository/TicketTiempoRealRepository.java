@@ -0,0 +1,27 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.TicketTiempoReal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface TicketTiempoRealRepository extends JpaRepository<TicketTiempoReal, Long> {
+
+    Optional<TicketTiempoReal> findByCodigoHash(String codigoHash);
+
+    /**
+     * Borra el ticket y devuelve cuántas filas borró. Si dos peticiones lo
+     * canjean a la vez, la segunda espera el bloqueo de la fila y borra cero.
+     */
+    @Modifying
+    @Query("DELETE FROM TicketTiempoReal t WHERE t.id = :id")
+    int consumir(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM TicketTiempoReal t WHERE t.venceEn < :ahora")
+    int eliminarVencidos(@Param("ahora") LocalDateTime ahora);
+}
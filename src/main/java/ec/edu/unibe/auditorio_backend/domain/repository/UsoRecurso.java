@@ -0,0 +1,13 @@
+package ec.edu.unibe.auditorio_backend.domain.repository;
+
+import java.time.LocalTime;
+
+/**
+ * Cantidad de un tipo de recurso que otra reserva utiliza en su horario.
+ */
+public record UsoRecurso(
+        Long tipoId,
+        int cantidad,
+        LocalTime horaInicio,
+        LocalTime horaFin) {
+}
@@ -0,0 +1,248 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.DocumentoEnCurso;
+import ec.edu.unibe.auditorio_backend.domain.repository.DocumentoEnCursoRepository;
+import ec.edu.unibe.auditorio_backend.domain.repository.EventoAuditorioRepository;
+import ec.edu.unibe.auditorio_backend.infrastructure.scheduling.SoloNodoLider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * Directorio de documentos direccionado por contenido: cada archivo se guarda
+ * con el SHA-256 de sus bytes como nombre, así que un mismo documento subido
+ * varias veces ocupa un solo archivo. Las reservas solo guardan el hash.
+ *
+ * <p>Los documentos se copian por bloques entre el flujo de la petición y el
+ * disco; nunca se cargan completos en memoria. Un archivo se borra cuando,
+ * al terminar la transacción que lo soltó, ninguna reserva lo referencia y
+ * ninguna transacción en curso acaba de guardarlo.</p>
+ *
+ * <p>El directorio no tiene valor por defecto: debe estar en almacenamiento
+ * persistente, no en el sistema de archivos temporal del contenedor, y la
+ * aplicación no arranca si {@code DOCUMENTOS_DIRECTORIO} no está
+ * configurado. Con varias instancias además debe ser un almacenamiento
+ * compartido por todas (NFS, volumen común), o las demás no encontrarían los
+ * documentos. Las subidas en curso se registran en la base de datos y el
+ * registro y el borrado de un mismo hash se serializan con un bloqueo
+ * consultivo, así una instancia no borra el archivo que otra acaba de
+ * guardar y aún no confirma.</p>
+ */
+@Component
+public class AlmacenDocumentos {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AlmacenDocumentos.class);
+    private static final Pattern HASH_VALIDO = Pattern.compile("[0-9a-f]{64}");
+    private static final ZoneId ZONA_ECUADOR = ZoneId.of("America/Guayaquil");
+
+    private final Path directorio;
+    private final EventoAuditorioRepository eventoRepository;
+    private final DocumentoEnCursoRepository enCursoRepository;
+    private final TransactionTemplate transaccionIndependiente;
+    private final long minutosVencimiento;
+
+    public AlmacenDocumentos(
+            @Value("${app.documentos.directorio:}") String directorio,
+            @Value("${app.documentos.en-curso.minutos-vencimiento:60}") long minutosVencimiento,
+            EventoAuditorioRepository eventoRepository,
+            DocumentoEnCursoRepository enCursoRepository,
+            PlatformTransactionManager transactionManager) throws IOException {
+        if (directorio.isBlank()) {
+            throw new IllegalStateException(
+                    "Configure DOCUMENTOS_DIRECTORIO con un directorio persistente para los documentos de aprobación");
+        }
+        this.directorio = Files.createDirectories(Path.of(directorio).toAbsolutePath().normalize());
+        this.minutosVencimiento = minutosVencimiento;
+        this.eventoRepository = eventoRepository;
+        this.enCursoRepository = enCursoRepository;
+        this.transaccionIndependiente = new TransactionTemplate(transactionManager);
+        this.transaccionIndependiente.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Copia el contenido a un archivo temporal mientras calcula su hash y
+     * luego lo mueve a su ubicación definitiva. Si el documento ya existía se
+     * descarta la copia. Debe llamarse dentro de la transacción que guardará
+     * el hash; si esta se revierte, el archivo se libera.
+     *
+     * <p>El registro de la subida y el movimiento del archivo se confirman
+     * aparte, bajo el bloqueo del hash, para que otras instancias vean la
+     * subida mientras la transacción que guardará el hash sigue abierta.</p>
+     */
+    public String guardar(InputStream contenido) throws IOException {
+        Path temporal = Files.createTempFile(directorio, "subida-", ".tmp");
+        try {
+            MessageDigest digest = nuevoDigest();
+            try (OutputStream salida = new DigestOutputStream(Files.newOutputStream(temporal), digest)) {
+                contenido.transferTo(salida);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path destino = ubicacion(hash);
+            Long registro = transaccionIndependiente.execute(estado -> {
+                enCursoRepository.bloquearDocumento(hash);
+                Long id = enCursoRepository.save(new DocumentoEnCurso(hash)).getId();
+                try {
+                    mover(temporal, destino);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                return id;
+            });
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        transaccionIndependiente.executeWithoutResult(estado ->
+                                enCursoRepository.deleteById(registro));
+                    } catch (RuntimeException exception) {
+                        LOGGER.warn("No se pudo quitar el registro de la subida {}", hash, exception);
+                        return;
+                    }
+                    eliminarSiHuerfano(hash);
+                }
+            });
+            return hash;
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    public Resource abrir(String hash) {
+        Path archivo = ubicacion(hash);
+        if (!Files.isRegularFile(archivo)) {
+            throw new NoSuchElementException("El documento de aprobación no está disponible");
+        }
+        return new FileSystemResource(archivo);
+    }
+
+    /**
+     * Indica si el archivo del hash existe y su contenido todavía produce ese
+     * mismo hash.
+     */
+    public boolean estaIntacto(String hash) {
+        Path archivo = ubicacion(hash);
+        if (!Files.isRegularFile(archivo)) {
+            return false;
+        }
+        MessageDigest digest = nuevoDigest();
+        try (InputStream contenido = Files.newInputStream(archivo);
+             OutputStream salida = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            contenido.transferTo(salida);
+        } catch (IOException exception) {
+            LOGGER.warn("No se pudo leer el documento {}", hash, exception);
+            return false;
+        }
+        return hash.equals(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Revisa el documento cuando termine la transacción actual, que acaba de
+     * dejar de referenciarlo.
+     */
+    public void liberarAlTerminar(String hash) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                eliminarSiHuerfano(hash);
+            }
+        });
+    }
+
+    /**
+     * Quita los registros de subidas cuya instancia cayó antes de terminar la
+     * transacción y libera esos documentos si quedaron sin referencia.
+     */
+    @Scheduled(fixedDelayString = "${app.documentos.en-curso.intervalo-ms:900000}")
+    @SoloNodoLider
+    public void liberarSubidasVencidas() {
+        LocalDateTime limite = LocalDateTime.now(ZONA_ECUADOR).minusMinutes(minutosVencimiento);
+        List<String> hashes = transaccionIndependiente.execute(estado -> {
+            List<String> vencidos = enCursoRepository.listarHashesVencidos(limite);
+            enCursoRepository.eliminarVencidos(limite);
+            return vencidos;
+        });
+        hashes.forEach(this::eliminarSiHuerfano);
+    }
+
+    private void eliminarSiHuerfano(String hash) {
+        try {
+            transaccionIndependiente.executeWithoutResult(estado -> {
+                enCursoRepository.bloquearDocumento(hash);
+                if (enCursoRepository.existsByHash(hash)
+                        || eventoRepository.existsByDocumentoAprobacionHash(hash)) {
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(ubicacion(hash));
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            });
+        } catch (RuntimeException exception) {
+            LOGGER.warn("No se pudo liberar el documento {}", hash, exception);
+        }
+    }
+
+    private void mover(Path temporal, Path destino) throws IOException {
+        Files.createDirectories(destino.getParent());
+        if (Files.exists(destino)) {
+            return;
+        }
+        try {
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException exception) {
+            // Otra subida del mismo contenido terminó primero.
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Dos niveles de subdirectorios evitan carpetas con miles de archivos.
+    private Path ubicacion(String hash) {
+        if (hash == null || !HASH_VALIDO.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Identificador de documento no válido");
+        }
+        return directorio
+                .resolve(hash.substring(0, 2))
+                .resolve(hash.substring(2, 4))
+                .resolve(hash);
+    }
+
+    private MessageDigest nuevoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Actualiza el documento de búsqueda dentro de la misma transacción que
+ * modifica la reserva, para que ambos se confirmen juntos.
+ */
+@Component
+public class BusquedaEventosListener {
+
+    private final BusquedaEventosService busquedaEventos;
+
+    public BusquedaEventosListener(BusquedaEventosService busquedaEventos) {
+        this.busquedaEventos = busquedaEventos;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void alCrearReserva(ReservaCreadaEvent event) {
+        busquedaEventos.actualizar(List.of(event.eventoId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void alModificarReserva(ReservaModificadaEvent event) {
+        busquedaEventos.actualizar(List.of(event.eventoId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void alEliminarReserva(ReservaEliminadaEvent event) {
+        busquedaEventos.retirar(event.eventoId());
+    }
+}
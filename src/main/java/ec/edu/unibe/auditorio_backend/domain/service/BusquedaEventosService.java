@@ -0,0 +1,142 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.BusquedaEvento;
+import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
+import ec.edu.unibe.auditorio_backend.domain.repository.BusquedaEventoRepository;
+import ec.edu.unibe.auditorio_backend.domain.repository.TextoBusquedaEvento;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Mantiene y consulta los documentos de búsqueda de las reservas. Las
+ * consultas usan el índice de texto completo de PostgreSQL para palabras
+ * completas y el índice de trigramas para fragmentos, de modo que buscar no
+ * recorre toda la tabla de reservas.
+ */
+@Service
+public class BusquedaEventosService {
+
+    private static final int LOTE_INDEXACION = 500;
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+
+    private final BusquedaEventoRepository busquedaRepository;
+
+    public BusquedaEventosService(BusquedaEventoRepository busquedaRepository) {
+        this.busquedaRepository = busquedaRepository;
+    }
+
+    /**
+     * Minúsculas y sin tildes, igual que los documentos guardados.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String descompuesto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        return MARCAS_DIACRITICAS.matcher(descompuesto).replaceAll("")
+                .toLowerCase(Locale.ROOT)
+                .trim();
+    }
+
+    @Transactional
+    public void actualizar(Collection<Long> eventoIds) {
+        if (!eventoIds.isEmpty()) {
+            busquedaRepository.textosDeEventos(eventoIds).forEach(this::guardar);
+        }
+    }
+
+    @Transactional
+    public void actualizarDeSolicitante(Long usuarioId) {
+        busquedaRepository.textosDeSolicitante(usuarioId).forEach(this::guardar);
+    }
+
+    @Transactional
+    public void retirar(Long eventoId) {
+        busquedaRepository.deleteById(eventoId);
+    }
+
+    /**
+     * Crea los documentos que falten, por lotes. Devuelve cuántos se crearon.
+     */
+    @Transactional
+    public int indexarFaltantes() {
+        int indexados = 0;
+        List<Long> pendientes;
+        while (!(pendientes = busquedaRepository.idsSinDocumento(Limit.of(LOTE_INDEXACION))).isEmpty()) {
+            actualizar(pendientes);
+            indexados += pendientes.size();
+        }
+        return indexados;
+    }
+
+    /**
+     * Condición de búsqueda sobre una consulta de reservas. Une el documento
+     * de cada reserva y exige coincidencia de texto completo o de fragmento;
+     * con {@code incluirSolicitante} también se buscan los nombres del
+     * solicitante. Con {@code ordenarPorRelevancia} las mejores coincidencias
+     * van primero, salvo en la consulta de conteo.
+     */
+    Predicate coincidencia(
+            Root<EventoAuditorio> evento,
+            CriteriaQuery<?> query,
+            CriteriaBuilder cb,
+            String buscar,
+            boolean incluirSolicitante,
+            boolean ordenarPorRelevancia) {
+        String termino = normalizar(buscar);
+        String patron = "%" + termino + "%";
+        // value() envía el término como parámetro; literal() lo incrustaría en el SQL.
+        Expression<String> consulta = ((HibernateCriteriaBuilder) cb).value(termino);
+
+        JpaEntityJoin<BusquedaEvento> documento =
+                ((JpaRoot<EventoAuditorio>) evento).join(BusquedaEvento.class);
+        documento.on(cb.equal(documento.get("eventoId"), evento.get("id")));
+        Expression<String> texto = documento.get("texto");
+
+        List<Predicate> coincidencias = new ArrayList<>();
+        coincidencias.add(cb.isTrue(cb.function("coincide_texto", Boolean.class, texto, consulta)));
+        coincidencias.add(cb.like(texto, patron));
+        if (incluirSolicitante) {
+            coincidencias.add(cb.like(documento.get("textoSolicitante"), patron));
+        }
+
+        if (ordenarPorRelevancia && !Long.class.equals(query.getResultType())) {
+            query.orderBy(cb.desc(cb.function("relevancia_texto", Double.class, texto, consulta)));
+        }
+        return cb.or(coincidencias.toArray(Predicate[]::new));
+    }
+
+    private void guardar(TextoBusquedaEvento textos) {
+        busquedaRepository.guardar(
+                textos.eventoId(),
+                unir(textos.nombreEvento(), textos.descripcion(), textos.responsable()),
+                unir(textos.solicitanteNombre(), textos.solicitanteApellido()));
+    }
+
+    private String unir(String... partes) {
+        return Stream.of(partes)
+                .filter(Objects::nonNull)
+                .map(BusquedaEventosService::normalizar)
+                .filter(parte -> !parte.isEmpty())
+                .collect(Collectors.joining(" "));
+    }
+}
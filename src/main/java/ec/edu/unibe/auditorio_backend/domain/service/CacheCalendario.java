@@ -0,0 +1,103 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas del calendario ya serializadas, identificadas por vista y
+ * parámetros. Cada cambio confirmado en una reserva incrementa la versión de
+ * los datos y descarta las respuestas guardadas; mientras la versión no
+ * cambie, una consulta repetida no llega a la base de datos ni a Jackson.
+ *
+ * <p>La validez limitada cubre los cambios hechos por otras instancias, que
+ * no incrementan la versión de esta. El ETag es el SHA-256 del JSON, así
+ * todas las instancias dan el mismo ETag al mismo contenido y uno distinto a
+ * contenido distinto, sin importar su versión local.</p>
+ */
+@Component
+public class CacheCalendario {
+
+    private static final int RESPUESTAS_MAXIMAS = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Duration validez;
+
+    private final AtomicLong version = new AtomicLong();
+    private final Map<Clave, Respuesta> respuestas = new ConcurrentHashMap<>();
+
+    public CacheCalendario(
+            ObjectMapper objectMapper,
+            @Value("${app.calendario.cache.segundos-validez:30}") long segundosValidez) {
+        this.objectMapper = objectMapper;
+        this.validez = Duration.ofSeconds(segundosValidez);
+    }
+
+    public void invalidar() {
+        version.incrementAndGet();
+        respuestas.clear();
+    }
+
+    /**
+     * Devuelve la respuesta guardada si sigue vigente o ejecuta la consulta y
+     * la guarda. Si al vencer la validez el contenido no cambió, el ETag es el
+     * mismo y los clientes siguen recibiendo 304.
+     */
+    public Respuesta obtener(Supplier<?> consulta, String vista, Object... parametros) {
+        Clave clave = new Clave(vista, Arrays.asList(parametros));
+        long versionActual = version.get();
+        Instant ahora = Instant.now();
+
+        Respuesta guardada = respuestas.get(clave);
+        if (guardada != null
+                && guardada.version() == versionActual
+                && ahora.isBefore(guardada.calculada().plus(validez))) {
+            return guardada;
+        }
+
+        byte[] json = serializar(consulta.get());
+        Respuesta nueva = new Respuesta(versionActual, etag(json), json, ahora);
+
+        if (respuestas.size() >= RESPUESTAS_MAXIMAS) {
+            respuestas.clear();
+        }
+        respuestas.put(clave, nueva);
+        return nueva;
+    }
+
+    private byte[] serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsBytes(valor);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("No se pudo serializar el calendario", exception);
+        }
+    }
+
+    private String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(hash) + "\"";
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private record Clave(String vista, List<Object> parametros) {
+    }
+
+    public record Respuesta(long version, String etag, byte[] json, Instant calculada) {
+    }
+}
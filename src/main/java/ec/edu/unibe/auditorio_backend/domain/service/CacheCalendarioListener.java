@@ -0,0 +1,39 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Incrementa la versión del calendario cuando un cambio en una reserva ya
+ * está confirmado, de modo que la siguiente consulta lea datos actuales.
+ */
+@Component
+public class CacheCalendarioListener {
+
+    private final CacheCalendario cacheCalendario;
+
+    public CacheCalendarioListener(CacheCalendario cacheCalendario) {
+        this.cacheCalendario = cacheCalendario;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCrearReserva(ReservaCreadaEvent event) {
+        cacheCalendario.invalidar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCambiarEstado(ReservaEstadoCambiadoEvent event) {
+        cacheCalendario.invalidar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alModificarReserva(ReservaModificadaEvent event) {
+        cacheCalendario.invalidar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alEliminarReserva(ReservaEliminadaEvent event) {
+        cacheCalendario.invalidar();
+    }
+}
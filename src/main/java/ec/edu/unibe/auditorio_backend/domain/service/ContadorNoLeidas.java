@@ -0,0 +1,134 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.repository.NotificacionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cantidad de notificaciones sin leer por usuario, guardada en memoria para
+ * que el indicador del frontend no consulte la base de datos. Se cuenta una
+ * sola vez al primer uso y luego se ajusta con cada notificación creada o
+ * leída, después de confirmar la transacción que la produjo.
+ *
+ * <p>Cada conteo vuelve a leerse al vencer su validez, así se corrigen los
+ * cambios hechos por otras instancias.</p>
+ */
+@Component
+public class ContadorNoLeidas {
+
+    private final NotificacionRepository notificacionRepository;
+    private final Duration validez;
+
+    private static final Cambios SIN_CAMBIOS = new Cambios(0, 0);
+
+    private final Map<String, Conteo> conteos = new ConcurrentHashMap<>();
+    // Versión y transacciones por confirmar de los cambios de cada usuario.
+    private final Map<String, Cambios> cambios = new ConcurrentHashMap<>();
+
+    public ContadorNoLeidas(
+            NotificacionRepository notificacionRepository,
+            @Value("${app.notificaciones.contador.segundos-validez:300}") long segundosValidez) {
+        this.notificacionRepository = notificacionRepository;
+        this.validez = Duration.ofSeconds(segundosValidez);
+    }
+
+    /**
+     * La base de datos se consulta fuera de los mapas, así las demás lecturas
+     * y ajustes no esperan por ella. El resultado solo se guarda si ningún
+     * cambio del usuario estaba por confirmarse ni terminó mientras se
+     * contaba: en ese caso no se sabe si la consulta ya lo incluye, y guardarlo
+     * junto con el ajuste lo contaría dos veces.
+     */
+    public long obtener(String username) {
+        Instant ahora = Instant.now();
+        Conteo conteo = conteos.get(username);
+        if (conteo != null && conteo.cargadoEn().plus(validez).isAfter(ahora)) {
+            return conteo.valor();
+        }
+        Cambios antes = cambios.getOrDefault(username, SIN_CAMBIOS);
+        long valor = notificacionRepository.countByDestinatarioUsernameAndLeidaFalse(username);
+        if (antes.pendientes() == 0) {
+            cambios.compute(username, (clave, actual) -> {
+                if (antes.equals(actual == null ? SIN_CAMBIOS : actual)) {
+                    conteos.put(clave, new Conteo(valor, ahora));
+                }
+                return actual;
+            });
+        }
+        return valor;
+    }
+
+    /**
+     * Aplica la diferencia cuando se confirme la transacción actual; si se
+     * revierte, el conteo no cambia. Desde antes de confirmar hasta que se
+     * aplica, las lecturas del usuario van a la base de datos sin guardarse.
+     * Los usuarios que aún no tienen conteo en memoria se contarán completos
+     * en su próxima consulta.
+     */
+    public void ajustarAlConfirmar(String username, long diferencia) {
+        if (diferencia == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            terminarCambio(username, diferencia, false);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean iniciado;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                iniciarCambio(username);
+                iniciado = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (iniciado) {
+                    terminarCambio(username, status == STATUS_COMMITTED ? diferencia : 0, true);
+                }
+            }
+        });
+    }
+
+    public void olvidar(String username) {
+        cambios.compute(username, (clave, actual) -> {
+            conteos.remove(clave);
+            return siguiente(actual, 0);
+        });
+    }
+
+    private void iniciarCambio(String username) {
+        cambios.compute(username, (clave, actual) -> siguiente(actual, 1));
+    }
+
+    private void terminarCambio(String username, long diferencia, boolean iniciado) {
+        cambios.compute(username, (clave, actual) -> {
+            if (diferencia != 0) {
+                conteos.computeIfPresent(clave, (usuario, conteo) ->
+                        new Conteo(Math.max(0, conteo.valor() + diferencia), conteo.cargadoEn()));
+            }
+            return siguiente(actual, iniciado ? -1 : 0);
+        });
+    }
+
+    // Los registros de cambios no se eliminan: volver a empezar la versión
+    // en cero haría pasar por vigente una lectura que vio otro estado.
+    private static Cambios siguiente(Cambios actual, int pendientes) {
+        Cambios base = actual == null ? SIN_CAMBIOS : actual;
+        return new Cambios(base.version() + 1, base.pendientes() + pendientes);
+    }
+
+    private record Conteo(long valor, Instant cargadoEn) {
+    }
+
+    private record Cambios(long version, int pendientes) {
+    }
+}
@@ -1,191 +1,258 @@
 package ec.edu.unibe.auditorio_backend.domain.service;
 
-import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
-import ec.edu.unibe.auditorio_backend.domain.entity.Usuario;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ec.edu.unibe.auditorio_backend.domain.entity.CorreoPendiente;
+import ec.edu.unibe.auditorio_backend.domain.repository.CorreoPendienteRepository;
+import ec.edu.unibe.auditorio_backend.infrastructure.correo.ClienteBrevo;
+import ec.edu.unibe.auditorio_backend.infrastructure.correo.PlantillaCorreo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClient;
-import org.springframework.web.client.RestClientException;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Arma los correos de reservas y los deja en {@code correos_pendientes} dentro
+ * de la transacción actual; {@link DespachadorCorreos} los entrega después.
+ * Así el correo existe solo si la operación se confirma y la petición no
+ * espera al proveedor.
+ *
+ * <p>En el envío agrupado, el aviso de una nueva reserva sale en una sola
+ * solicitud para todos los administradores: Brevo arma una versión del
+ * mensaje por destinatario a partir de {@code messageVersions} y reemplaza
+ * {@code {{ params.nombre }}} con el nombre de cada uno.</p>
+ *
+ * <p>Con {@code params}, Brevo interpreta el asunto y el HTML como
+ * plantilla. Por eso en ese envío los textos escritos por usuarios (evento y
+ * solicitante) no van en el contenido sino como parámetros de cada versión,
+ * y los delimitadores de plantilla que contengan se muestran tal cual.</p>
+ */
 @Service
 public class CorreoReservaService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CorreoReservaService.class);
     private static final DateTimeFormatter FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     private static final DateTimeFormatter HORA = DateTimeFormatter.ofPattern("HH:mm");
+    private static final String NOMBRE_PERSONALIZADO = "{{ params.nombre }}";
+    private static final String EVENTO_PERSONALIZADO = "{{ params.evento }}";
+    private static final String SOLICITANTE_PERSONALIZADO = "{{ params.solicitante }}";
+    private static final String ASUNTO_PERSONALIZADO = "{{ params.asunto }}";
+    // Brevo limita la cantidad de versiones por solicitud; se usa un margen amplio.
+    private static final int VERSIONES_POR_SOLICITUD = 100;
 
-    private final RestClient clienteBrevo;
+    private static final PlantillaCorreo CAMBIO_ESTADO = PlantillaCorreo.compilar("""
+            <!doctype html>
+            <html lang="es">
+            <body style="margin:0;background:#f3f6fa;font-family:Arial,sans-serif;color:#1C2544;">
+              <div style="max-width:620px;margin:24px auto;background:#fff;border-radius:12px;overflow:hidden;border:1px solid #dce4ee;">
+                <div style="background:#1C2544;padding:24px;color:#fff;border-bottom:6px solid #FECC0D;">
+                  <div style="font-size:22px;font-weight:700;">Reservas Auditorio UNIB.E</div>
+                </div>
+                <div style="padding:28px;">
+                  <p>Hola, <strong>{{nombre}}</strong>.</p>
+                  <p>El estado de su reserva fue actualizado a:</p>
+                  <div style="font-size:22px;font-weight:700;color:#004990;margin:18px 0;">{{estado}}</div>
+                  <table style="width:100%;border-collapse:collapse;line-height:1.7;">
+                    <tr><td><strong>Evento</strong></td><td>{{evento}}</td></tr>
+                    <tr><td><strong>Fecha</strong></td><td>{{fecha}}</td></tr>
+                    <tr><td><strong>Horario</strong></td><td>{{horaInicio}} - {{horaFin}}</td></tr>
+                  </table>
+                  {{{detalleMotivo}}}
+                  <p style="margin-top:26px;color:#596579;">Este es un mensaje automatico del sistema de reservas.</p>
+                </div>
+              </div>
+            </body>
+            </html>
+            """, "nombre", "estado", "evento", "fecha", "horaInicio", "horaFin", "detalleMotivo");
+
+    private static final PlantillaCorreo MOTIVO = PlantillaCorreo.compilar(
+            "<div style=\"margin:20px 0;padding:14px;background:#f3f6fa;border-left:4px solid #FECC0D;\">"
+                    + "<strong>Motivo:</strong> {{motivo}}</div>",
+            "motivo");
+
+    private static final PlantillaCorreo NUEVA_RESERVA = PlantillaCorreo.compilar("""
+            <!doctype html>
+            <html lang="es">
+            <body style="margin:0;background:#f3f6fa;font-family:Arial,sans-serif;color:#1C2544;">
+              <div style="max-width:620px;margin:24px auto;background:#fff;border-radius:12px;overflow:hidden;border:1px solid #dce4ee;">
+                <div style="background:#1C2544;padding:24px;color:#fff;border-bottom:6px solid #FECC0D;">
+                  <div style="font-size:22px;font-weight:700;">Nueva reserva del Auditorio UNIB.E</div>
+                </div>
+                <div style="padding:28px;">
+                  <p>Hola, <strong>{{{administrador}}}</strong>.</p>
+                  <p>Se registró una nueva solicitud que requiere revisión administrativa.</p>
+                  <div style="font-size:22px;font-weight:700;color:#004990;margin:18px 0;">{{{evento}}}</div>
+                  <table style="width:100%;border-collapse:collapse;line-height:1.7;">
+                    <tr><td><strong>Solicitante</strong></td><td>{{{solicitante}}}</td></tr>
+                    <tr><td><strong>Fecha</strong></td><td>{{fecha}}</td></tr>
+                    <tr><td><strong>Horario</strong></td><td>{{horaInicio}} - {{horaFin}}</td></tr>
+                    <tr><td><strong>Asistentes</strong></td><td>{{asistentes}}</td></tr>
+                  </table>
+                  <p style="margin-top:26px;color:#596579;">Ingresa al sistema para revisar el detalle de la solicitud.</p>
+                </div>
+              </div>
+            </body>
+            </html>
+            """, "administrador", "evento", "solicitante", "fecha", "horaInicio", "horaFin", "asistentes");
+
+    private final CorreoPendienteRepository correoRepository;
+    private final ClienteBrevo clienteBrevo;
+    private final ObjectMapper objectMapper;
     private final boolean habilitado;
-    private final String apiKey;
+    private final boolean envioAgrupado;
     private final String remitente;
     private final String nombreRemitente;
 
     public CorreoReservaService(
-            RestClient.Builder restClientBuilder,
+            CorreoPendienteRepository correoRepository,
+            ClienteBrevo clienteBrevo,
+            ObjectMapper objectMapper,
             @Value("${app.mail.enabled:false}") boolean habilitado,
-            @Value("${app.mail.api-key:}") String apiKey,
+            @Value("${app.mail.envio-agrupado:true}") boolean envioAgrupado,
             @Value("${app.mail.from:}") String remitente,
             @Value("${app.mail.from-name:UNIB.E Reservas}") String nombreRemitente) {
-        this.clienteBrevo = restClientBuilder.baseUrl("https://api.brevo.com/v3").build();
+        this.correoRepository = correoRepository;
+        this.clienteBrevo = clienteBrevo;
+        this.objectMapper = objectMapper;
         this.habilitado = habilitado;
-        this.apiKey = apiKey;
+        this.envioAgrupado = envioAgrupado;
         this.remitente = remitente;
         this.nombreRemitente = nombreRemitente;
     }
 
-    public void enviarCambioEstado(EventoAuditorio evento) {
+    public void encolarCambioEstado(ReservaInstantanea reserva) {
         if (!habilitado) {
-            LOGGER.info("Correo deshabilitado. No se notifico el evento {}", evento.getId());
+            LOGGER.info("Correo deshabilitado. No se notifico el evento {}", reserva.eventoId());
             return;
         }
 
-        if (evento.getUsuarioSolicitante() == null
-                || evento.getUsuarioSolicitante().getCorreoInstitucional() == null) {
-            LOGGER.warn("El evento {} no tiene correo de solicitante", evento.getId());
+        if (reserva.solicitante() == null || reserva.solicitante().correoInstitucional() == null) {
+            LOGGER.warn("El evento {} no tiene correo de solicitante", reserva.eventoId());
             return;
         }
 
-        enviar(
-                evento.getUsuarioSolicitante().getCorreoInstitucional(),
-                "Actualización de su reserva: " + evento.getNombreEvento(),
-                construirContenido(evento),
-                "la notificación del evento " + evento.getId());
+        encolar(
+                reserva.solicitante().correoInstitucional(),
+                "Actualización de su reserva: " + reserva.nombreEvento(),
+                construirContenido(reserva),
+                "la notificación del evento " + reserva.eventoId());
     }
 
-    public void enviarNuevaReserva(EventoAuditorio evento, Usuario administrador) {
+    public void encolarNuevaReserva(ReservaInstantanea reserva, List<DestinatarioReserva> administradores) {
         if (!habilitado) {
-            LOGGER.info("Correo deshabilitado. No se notifico la nueva reserva {}", evento.getId());
+            LOGGER.info("Correo deshabilitado. No se notifico la nueva reserva {}", reserva.eventoId());
+            return;
+        }
+
+        List<DestinatarioReserva> destinatarios = new ArrayList<>(administradores.size());
+        for (DestinatarioReserva administrador : administradores) {
+            if (administrador.correoInstitucional() == null
+                    || administrador.correoInstitucional().isBlank()) {
+                LOGGER.warn("El administrador {} no tiene correo registrado", administrador.username());
+            } else {
+                destinatarios.add(administrador);
+            }
+        }
+        if (destinatarios.isEmpty()) {
             return;
         }
 
-        if (administrador.getCorreoInstitucional() == null
-                || administrador.getCorreoInstitucional().isBlank()) {
-            LOGGER.warn("El administrador {} no tiene correo registrado", administrador.getUsername());
+        String asunto = "Nueva reserva pendiente: " + reserva.nombreEvento();
+        String evento = PlantillaCorreo.escaparHtml(reserva.nombreEvento());
+        String solicitante = PlantillaCorreo.escaparHtml(reserva.solicitante().nombreCompleto());
+        if (!envioAgrupado) {
+            destinatarios.forEach(administrador -> encolar(
+                    administrador.correoInstitucional(),
+                    asunto,
+                    construirNuevaReserva(
+                            reserva, PlantillaCorreo.escaparHtml(administrador.nombre()), evento, solicitante),
+                    "la nueva reserva " + reserva.eventoId() + " al administrador " + administrador.username()));
             return;
         }
 
-        enviar(
-                administrador.getCorreoInstitucional(),
-                "Nueva reserva pendiente: " + evento.getNombreEvento(),
-                construirNuevaReserva(evento, administrador),
-                "la nueva reserva " + evento.getId() + " al administrador " + administrador.getUsername());
+        String contenido = construirNuevaReserva(
+                reserva, NOMBRE_PERSONALIZADO, EVENTO_PERSONALIZADO, SOLICITANTE_PERSONALIZADO);
+        for (int inicio = 0; inicio < destinatarios.size(); inicio += VERSIONES_POR_SOLICITUD) {
+            List<DestinatarioReserva> grupo = destinatarios.subList(
+                    inicio, Math.min(inicio + VERSIONES_POR_SOLICITUD, destinatarios.size()));
+            List<Map<String, Object>> versiones = grupo.stream()
+                    .map(administrador -> Map.<String, Object>of(
+                            "to", List.of(Map.of("email", administrador.correoInstitucional())),
+                            "params", Map.of(
+                                    "nombre", PlantillaCorreo.escaparHtml(administrador.nombre()),
+                                    "evento", evento,
+                                    "solicitante", solicitante,
+                                    "asunto", asunto)))
+                    .toList();
+            encolar(
+                    Map.of("messageVersions", versiones),
+                    ASUNTO_PERSONALIZADO,
+                    contenido,
+                    "la nueva reserva " + reserva.eventoId() + " a " + grupo.size() + " administradores");
+        }
+    }
+
+    private void encolar(String destinatario, String asunto, String contenidoHtml, String referencia) {
+        encolar(Map.of("to", List.of(Map.of("email", destinatario))), asunto, contenidoHtml, referencia);
     }
 
-    private void enviar(String destinatario, String asunto, String contenidoHtml, String referencia) {
-        if (apiKey.isBlank() || remitente.isBlank()) {
+    private void encolar(
+            Map<String, Object> destinatarios,
+            String asunto,
+            String contenidoHtml,
+            String referencia) {
+        if (!clienteBrevo.estaConfigurado() || remitente.isBlank()) {
             LOGGER.error("Correo habilitado, pero faltan BREVO_API_KEY o MAIL_FROM. No se pudo enviar {}", referencia);
             return;
         }
 
-        Map<String, Object> solicitud = Map.of(
-                "sender", Map.of("name", nombreRemitente, "email", remitente),
-                "to", List.of(Map.of("email", destinatario)),
-                "subject", asunto,
-                "htmlContent", contenidoHtml);
+        Map<String, Object> solicitud = new LinkedHashMap<>();
+        solicitud.put("sender", Map.of("name", nombreRemitente, "email", remitente));
+        solicitud.putAll(destinatarios);
+        solicitud.put("subject", asunto);
+        solicitud.put("htmlContent", contenidoHtml);
 
         try {
-            clienteBrevo.post()
-                    .uri("/smtp/email")
-                    .header("api-key", apiKey)
-                    .body(solicitud)
-                    .retrieve()
-                    .toBodilessEntity();
-            LOGGER.info("Correo enviado mediante Brevo: {}", referencia);
-        } catch (RestClientException ex) {
-            // El fallo del proveedor no deshace una operación ya confirmada.
-            LOGGER.error("No se pudo enviar {} mediante Brevo", referencia, ex);
+            correoRepository.save(new CorreoPendiente(referencia, objectMapper.writeValueAsString(solicitud)));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("No se pudo preparar " + referencia, exception);
         }
     }
 
-    private String construirContenido(EventoAuditorio evento) {
-        String motivo = evento.getMotivoRechazo();
-        String detalleMotivo = motivo == null || motivo.isBlank()
-                ? ""
-                : "<div style=\"margin:20px 0;padding:14px;background:#f3f6fa;border-left:4px solid #FECC0D;\">"
-                    + "<strong>Motivo:</strong> " + escapar(motivo) + "</div>";
-
-        return """
-                <!doctype html>
-                <html lang="es">
-                <body style="margin:0;background:#f3f6fa;font-family:Arial,sans-serif;color:#1C2544;">
-                  <div style="max-width:620px;margin:24px auto;background:#fff;border-radius:12px;overflow:hidden;border:1px solid #dce4ee;">
-                    <div style="background:#1C2544;padding:24px;color:#fff;border-bottom:6px solid #FECC0D;">
-                      <div style="font-size:22px;font-weight:700;">Reservas Auditorio UNIB.E</div>
-                    </div>
-                    <div style="padding:28px;">
-                      <p>Hola, <strong>%s</strong>.</p>
-                      <p>El estado de su reserva fue actualizado a:</p>
-                      <div style="font-size:22px;font-weight:700;color:#004990;margin:18px 0;">%s</div>
-                      <table style="width:100%%;border-collapse:collapse;line-height:1.7;">
-                        <tr><td><strong>Evento</strong></td><td>%s</td></tr>
-                        <tr><td><strong>Fecha</strong></td><td>%s</td></tr>
-                        <tr><td><strong>Horario</strong></td><td>%s - %s</td></tr>
-                      </table>
-                      %s
-                      <p style="margin-top:26px;color:#596579;">Este es un mensaje automatico del sistema de reservas.</p>
-                    </div>
-                  </div>
-                </body>
-                </html>
-                """.formatted(
-                escapar(evento.getUsuarioSolicitante().getNombre()),
-                escapar(evento.getEstado().name()),
-                escapar(evento.getNombreEvento()),
-                evento.getFechaEvento().format(FECHA),
-                evento.getHoraInicio().format(HORA),
-                evento.getHoraFin().format(HORA),
-                detalleMotivo);
+    private String construirContenido(ReservaInstantanea reserva) {
+        String motivo = reserva.motivoRechazo();
+        return CAMBIO_ESTADO.renderizar(
+                reserva.solicitante().nombre(),
+                reserva.estado().name(),
+                reserva.nombreEvento(),
+                reserva.fechaEvento().format(FECHA),
+                reserva.horaInicio().format(HORA),
+                reserva.horaFin().format(HORA),
+                motivo == null || motivo.isBlank() ? "" : MOTIVO.renderizar(motivo));
     }
 
-    private String construirNuevaReserva(EventoAuditorio evento, Usuario administrador) {
-        Usuario solicitante = evento.getUsuarioSolicitante();
-        return """
-                <!doctype html>
-                <html lang="es">
-                <body style="margin:0;background:#f3f6fa;font-family:Arial,sans-serif;color:#1C2544;">
-                  <div style="max-width:620px;margin:24px auto;background:#fff;border-radius:12px;overflow:hidden;border:1px solid #dce4ee;">
-                    <div style="background:#1C2544;padding:24px;color:#fff;border-bottom:6px solid #FECC0D;">
-                      <div style="font-size:22px;font-weight:700;">Nueva reserva del Auditorio UNIB.E</div>
-                    </div>
-                    <div style="padding:28px;">
-                      <p>Hola, <strong>%s</strong>.</p>
-                      <p>Se registró una nueva solicitud que requiere revisión administrativa.</p>
-                      <div style="font-size:22px;font-weight:700;color:#004990;margin:18px 0;">%s</div>
-                      <table style="width:100%%;border-collapse:collapse;line-height:1.7;">
-                        <tr><td><strong>Solicitante</strong></td><td>%s</td></tr>
-                        <tr><td><strong>Fecha</strong></td><td>%s</td></tr>
-                        <tr><td><strong>Horario</strong></td><td>%s - %s</td></tr>
-                        <tr><td><strong>Asistentes</strong></td><td>%s</td></tr>
-                      </table>
-                      <p style="margin-top:26px;color:#596579;">Ingresa al sistema para revisar el detalle de la solicitud.</p>
-                    </div>
-                  </div>
-                </body>
-                </html>
-                """.formatted(
-                escapar(administrador.getNombre()),
-                escapar(evento.getNombreEvento()),
-                escapar(solicitante.getNombre() + " " + solicitante.getApellido()),
-                evento.getFechaEvento().format(FECHA),
-                evento.getHoraInicio().format(HORA),
-                evento.getHoraFin().format(HORA),
-                evento.getNumeroAsistentes());
-    }
-
-    private String escapar(String valor) {
-        if (valor == null) {
-            return "";
-        }
-        return valor.replace("&", "&amp;")
-                .replace("<", "&lt;")
-                .replace(">", "&gt;")
-                .replace("\"", "&quot;")
-                .replace("'", "&#39;");
+    /**
+     * Los nombres ya vienen escapados, o son los marcadores que Brevo
+     * reemplaza en cada versión del envío agrupado.
+     */
+    private String construirNuevaReserva(
+            ReservaInstantanea reserva,
+            String nombreAdministrador,
+            String nombreEvento,
+            String nombreSolicitante) {
+        return NUEVA_RESERVA.renderizar(
+                nombreAdministrador,
+                nombreEvento,
+                nombreSolicitante,
+                reserva.fechaEvento().format(FECHA),
+                reserva.horaInicio().format(HORA),
+                reserva.horaFin().format(HORA),
+                reserva.numeroAsistentes());
     }
 }
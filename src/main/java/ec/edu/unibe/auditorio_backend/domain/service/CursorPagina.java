@@ -0,0 +1,120 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.application.dto.PaginaCursorDTO;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Posición dentro de un listado ordenado por varias columnas. Guarda los
+ * valores de orden del elemento desde el que se continúa y la dirección, de
+ * modo que la siguiente página se obtiene buscando directamente en el índice
+ * sin recorrer ni contar las filas anteriores.
+ */
+record CursorPagina(boolean haciaAtras, List<String> valores) {
+
+    private static final String SIGUIENTE = "s";
+    private static final String ANTERIOR = "a";
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    /**
+     * Interpreta el cursor recibido. Un cursor vacío corresponde a la primera
+     * página y devuelve {@code null}.
+     */
+    static CursorPagina leer(String cursor, int columnas) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] partes = cursor.split("\\.", -1);
+        if (partes.length != columnas + 1
+                || !(SIGUIENTE.equals(partes[0]) || ANTERIOR.equals(partes[0]))) {
+            throw new IllegalArgumentException("El cursor de paginación no es válido");
+        }
+        try {
+            List<String> valores = new ArrayList<>(columnas);
+            for (int i = 1; i < partes.length; i++) {
+                valores.add(new String(DECODIFICADOR.decode(partes[i]), StandardCharsets.UTF_8));
+            }
+            return new CursorPagina(ANTERIOR.equals(partes[0]), valores);
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("El cursor de paginación no es válido");
+        }
+    }
+
+    /**
+     * Filas estrictamente posteriores al cursor según el orden indicado por
+     * {@code descendente}, o anteriores si el cursor retrocede. Todas las
+     * columnas comparten la dirección de orden.
+     *
+     * <p>La cota no estricta sobre la primera columna es redundante, pero
+     * permite a PostgreSQL empezar el recorrido del índice en el cursor en
+     * lugar de filtrar todas las filas anteriores.</p>
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    <T> Specification<T> condicion(List<String> atributos, List<? extends Comparable<?>> claves, boolean descendente) {
+        boolean menores = descendente != haciaAtras;
+        return (root, query, cb) -> {
+            Predicate condicion = null;
+            for (int i = atributos.size() - 1; i >= 0; i--) {
+                Expression<Comparable> campo = root.get(atributos.get(i));
+                Comparable valor = claves.get(i);
+                Predicate estricta = menores ? cb.lessThan(campo, valor) : cb.greaterThan(campo, valor);
+                condicion = condicion == null
+                        ? estricta
+                        : cb.or(estricta, cb.and(cb.equal(campo, valor), condicion));
+            }
+            Expression<Comparable> primera = root.get(atributos.get(0));
+            Comparable valorPrimera = claves.get(0);
+            Predicate cota = menores
+                    ? cb.lessThanOrEqualTo(primera, valorPrimera)
+                    : cb.greaterThanOrEqualTo(primera, valorPrimera);
+            return cb.and(cota, condicion);
+        };
+    }
+
+    /**
+     * Arma la página a partir de hasta {@code tamanio + 1} filas leídas en el
+     * sentido del recorrido; la fila sobrante solo indica que hay más.
+     */
+    static <T> PaginaCursorDTO<T> armar(
+            List<T> filas,
+            CursorPagina cursor,
+            int tamanio,
+            Function<T, List<String>> clave,
+            Long total) {
+        boolean hayMas = filas.size() > tamanio;
+        List<T> contenido = new ArrayList<>(filas.subList(0, Math.min(filas.size(), tamanio)));
+        boolean haciaAtras = cursor != null && cursor.haciaAtras();
+        if (haciaAtras) {
+            Collections.reverse(contenido);
+        }
+        if (contenido.isEmpty()) {
+            return new PaginaCursorDTO<>(contenido, tamanio, null, null, total);
+        }
+
+        boolean haySiguiente = haciaAtras || hayMas;
+        boolean hayAnterior = haciaAtras ? hayMas : cursor != null;
+        return new PaginaCursorDTO<>(
+                contenido,
+                tamanio,
+                haySiguiente ? codificar(SIGUIENTE, clave.apply(contenido.get(contenido.size() - 1))) : null,
+                hayAnterior ? codificar(ANTERIOR, clave.apply(contenido.get(0))) : null,
+                total);
+    }
+
+    private static String codificar(String direccion, List<String> valores) {
+        StringBuilder cursor = new StringBuilder(direccion);
+        for (String valor : valores) {
+            cursor.append('.').append(CODIFICADOR.encodeToString(valor.getBytes(StandardCharsets.UTF_8)));
+        }
+        return cursor.toString();
+    }
+}
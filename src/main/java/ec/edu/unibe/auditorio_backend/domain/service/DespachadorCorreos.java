@@ -0,0 +1,235 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.application.dto.MetricasCorreoDTO;
+import ec.edu.unibe.auditorio_backend.domain.entity.CorreoPendiente;
+import ec.edu.unibe.auditorio_backend.domain.enums.EstadoCorreo;
+import ec.edu.unibe.auditorio_backend.domain.repository.CorreoPendienteRepository;
+import ec.edu.unibe.auditorio_backend.infrastructure.correo.ClienteBrevo;
+import ec.edu.unibe.auditorio_backend.infrastructure.correo.EnvioNoDisponibleException;
+import ec.edu.unibe.auditorio_backend.infrastructure.scheduling.SoloNodoLider;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entrega los correos de {@code correos_pendientes} fuera de las peticiones.
+ * Cada ronda reserva un lote de correos vencidos con
+ * {@code FOR UPDATE SKIP LOCKED} y los aplaza por un plazo de gracia antes
+ * de enviarlos, así otra instancia no los toma y, si esta cae a mitad de
+ * envío, se reintentan al vencer el plazo.
+ *
+ * <p>Solo la instancia líder despacha. Así el limitador de tasa de
+ * {@link ClienteBrevo} acota el total de solicitudes del despliegue y no una
+ * cuota por instancia; si el líder cae, la siguiente instancia que tome el
+ * liderazgo continúa con los correos pendientes.</p>
+ *
+ * <p>Un fallo temporal se reintenta con espera exponencial; un rechazo
+ * definitivo del proveedor (4xx distinto de 429) o el último intento
+ * fallido deja el correo en {@code FALLIDO} para revisarlo. Mientras el
+ * circuito de {@link ClienteBrevo} está abierto no se reservan lotes, y los
+ * envíos que este rechaza se aplazan sin contar como intento.</p>
+ *
+ * <p>La tarea programada solo inicia la ronda en un hilo propio; el hilo
+ * compartido de {@code @Scheduled} nunca espera a Brevo y las demás tareas
+ * programadas no se retrasan aunque haya muchos correos pendientes.</p>
+ */
+@Component
+public class DespachadorCorreos {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DespachadorCorreos.class);
+    private static final ZoneId ZONA_ECUADOR = ZoneId.of("America/Guayaquil");
+    private static final Duration PLAZO_ENVIO = Duration.ofMinutes(2);
+    private static final int LARGO_MAXIMO_ERROR = 1000;
+
+    private final CorreoPendienteRepository correoRepository;
+    private final ClienteBrevo clienteBrevo;
+    private final TransactionTemplate transactionTemplate;
+    private final int lote;
+    private final int intentosMaximos;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final ExecutorService envios;
+    private final ExecutorService rondas;
+    private final AtomicBoolean rondaEnCurso = new AtomicBoolean();
+
+    public DespachadorCorreos(
+            CorreoPendienteRepository correoRepository,
+            ClienteBrevo clienteBrevo,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.mail.outbox.lote:20}") int lote,
+            @Value("${app.mail.outbox.intentos-maximos:8}") int intentosMaximos,
+            @Value("${app.mail.outbox.espera-inicial-segundos:30}") long esperaInicialSegundos,
+            @Value("${app.mail.outbox.espera-maxima-segundos:3600}") long esperaMaximaSegundos,
+            @Value("${app.mail.outbox.hilos:4}") int hilos) {
+        this.correoRepository = correoRepository;
+        this.clienteBrevo = clienteBrevo;
+        this.transactionTemplate = transactionTemplate;
+        this.lote = lote;
+        this.intentosMaximos = intentosMaximos;
+        this.esperaInicial = Duration.ofSeconds(esperaInicialSegundos);
+        this.esperaMaxima = Duration.ofSeconds(esperaMaximaSegundos);
+        AtomicInteger numero = new AtomicInteger();
+        this.envios = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "correo-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.rondas = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "correo-despacho");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Inicia una ronda si no hay otra en curso y vuelve de inmediato.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.outbox.intervalo-ms:5000}")
+    @SoloNodoLider
+    public void despachar() {
+        if (!rondaEnCurso.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rondas.execute(() -> {
+                try {
+                    procesarLotes();
+                } catch (RuntimeException exception) {
+                    LOGGER.error("Falló la ronda de envío de correos", exception);
+                } finally {
+                    rondaEnCurso.set(false);
+                }
+            });
+        } catch (RuntimeException rechazo) {
+            rondaEnCurso.set(false);
+        }
+    }
+
+    public MetricasCorreoDTO metricas() {
+        ClienteBrevo.MetricasClienteBrevo cliente = clienteBrevo.metricas();
+        return new MetricasCorreoDTO(
+                correoRepository.countByEstado(EstadoCorreo.PENDIENTE),
+                correoRepository.countByEstado(EstadoCorreo.FALLIDO),
+                cliente.circuito(),
+                cliente.enviados(),
+                cliente.rechazados(),
+                cliente.fallidos(),
+                cliente.cortadosPorCircuito(),
+                cliente.limitadosPorTasa(),
+                cliente.tiempoPromedioMs(),
+                cliente.tiempoMaximoMs());
+    }
+
+    @PreDestroy
+    public void detener() {
+        rondas.shutdownNow();
+        envios.shutdownNow();
+    }
+
+    /**
+     * Procesa lotes mientras haya correos vencidos. Cada lote espera a que
+     * terminen sus envíos antes de reservar el siguiente.
+     */
+    private void procesarLotes() {
+        List<Long> reservados;
+        do {
+            if (!clienteBrevo.estaDisponible()) {
+                return;
+            }
+            reservados = reservarLote();
+            List<Callable<Void>> tareas = new ArrayList<>(reservados.size());
+            for (Long id : reservados) {
+                tareas.add(() -> {
+                    entregar(id);
+                    return null;
+                });
+            }
+            try {
+                envios.invokeAll(tareas);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        } while (reservados.size() == lote);
+    }
+
+    private List<Long> reservarLote() {
+        return transactionTemplate.execute(estado -> {
+            LocalDateTime ahora = LocalDateTime.now(ZONA_ECUADOR);
+            List<Long> ids = correoRepository.bloquearVencidos(ahora, lote);
+            if (!ids.isEmpty()) {
+                correoRepository.aplazar(ids, ahora.plus(PLAZO_ENVIO));
+            }
+            return ids;
+        });
+    }
+
+    private void entregar(Long id) {
+        CorreoPendiente correo = correoRepository.findById(id).orElse(null);
+        if (correo == null) {
+            return;
+        }
+        try {
+            clienteBrevo.enviar(correo.getMensaje());
+            transactionTemplate.executeWithoutResult(estado ->
+                    correoRepository.marcarEnviado(id, LocalDateTime.now(ZONA_ECUADOR)));
+            LOGGER.info("Correo enviado mediante Brevo: {}", correo.getReferencia());
+        } catch (EnvioNoDisponibleException exception) {
+            LocalDateTime proximo = LocalDateTime.now(ZONA_ECUADOR).plus(exception.getReintentarEn());
+            transactionTemplate.executeWithoutResult(estado -> correoRepository.aplazar(List.of(id), proximo));
+            LOGGER.debug("Envío de {} aplazado: {}", correo.getReferencia(), exception.getMessage());
+        } catch (RestClientException exception) {
+            registrarFallo(correo, exception);
+        }
+    }
+
+    private void registrarFallo(CorreoPendiente correo, RestClientException exception) {
+        String error = recortar(exception.getMessage());
+        int intento = correo.getIntentos() + 1;
+        if (esDefinitivo(exception) || intento >= intentosMaximos) {
+            transactionTemplate.executeWithoutResult(estado ->
+                    correoRepository.marcarFallido(correo.getId(), error));
+            LOGGER.error("No se pudo enviar {} tras {} intentos; queda como fallido",
+                    correo.getReferencia(), intento, exception);
+            return;
+        }
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(intento - 1, 20));
+        LocalDateTime proximo = LocalDateTime.now(ZONA_ECUADOR)
+                .plus(espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera);
+        transactionTemplate.executeWithoutResult(estado ->
+                correoRepository.reprogramar(correo.getId(), proximo, error));
+        LOGGER.warn("No se pudo enviar {} (intento {}); se reintentará a las {}",
+                correo.getReferencia(), intento, proximo);
+    }
+
+    private boolean esDefinitivo(RestClientException exception) {
+        return exception instanceof RestClientResponseException respuesta
+                && respuesta.getStatusCode().is4xxClientError()
+                && respuesta.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private String recortar(String mensaje) {
+        if (mensaje == null) {
+            return "Error desconocido";
+        }
+        return mensaje.length() > LARGO_MAXIMO_ERROR ? mensaje.substring(0, LARGO_MAXIMO_ERROR) : mensaje;
+    }
+}
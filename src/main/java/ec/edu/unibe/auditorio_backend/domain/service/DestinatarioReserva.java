@@ -0,0 +1,28 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.Usuario;
+
+/**
+ * Datos de contacto de un usuario tomados junto con una
+ * {@link ReservaInstantanea}.
+ */
+public record DestinatarioReserva(
+        Long id,
+        String username,
+        String nombre,
+        String apellido,
+        String correoInstitucional) {
+
+    public static DestinatarioReserva de(Usuario usuario) {
+        return new DestinatarioReserva(
+                usuario.getId(),
+                usuario.getUsername(),
+                usuario.getNombre(),
+                usuario.getApellido(),
+                usuario.getCorreoInstitucional());
+    }
+
+    public String nombreCompleto() {
+        return nombre + " " + apellido;
+    }
+}
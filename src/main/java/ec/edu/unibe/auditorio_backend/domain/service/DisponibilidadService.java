@@ -1,32 +1,65 @@
 package ec.edu.unibe.auditorio_backend.domain.service;
 
+import ec.edu.unibe.auditorio_backend.application.dto.HorarioLibreDTO;
+import ec.edu.unibe.auditorio_backend.domain.entity.Espacio;
 import ec.edu.unibe.auditorio_backend.domain.repository.EventoAuditorioRepository;
+import ec.edu.unibe.auditorio_backend.domain.repository.OcupacionEspacio;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
 
 @Service
 public class DisponibilidadService {
 
-    private static final int MINUTOS_PREPARACION = 60;
+    public static final int MINUTOS_PREPARACION = 60;
+    private static final int DIAS_MAXIMOS_BUSQUEDA = 62;
+    private static final ZoneId ZONA_ECUADOR = ZoneId.of("America/Guayaquil");
+    private static final long ESPACIO_BLOQUEO = 1L;
+    private static final long RECURSO_BLOQUEO = 2L;
+    private static final String VIOLACION_EXCLUSION = "23P01";
 
     private final EventoAuditorioRepository eventoRepository;
     private final EspacioService espacioService;
+    private final IndiceOcupacionEspacios indiceOcupacion;
+
+    private volatile boolean restriccionSolapamientoActiva;
 
     public DisponibilidadService(
             EventoAuditorioRepository eventoRepository,
-            EspacioService espacioService) {
+            EspacioService espacioService,
+            IndiceOcupacionEspacios indiceOcupacion) {
         this.eventoRepository = eventoRepository;
         this.espacioService = espacioService;
+        this.indiceOcupacion = indiceOcupacion;
     }
 
     /**
-     * El bloqueo se libera automáticamente al confirmar o revertir la
-     * transacción que realiza la reserva.
+     * Bloquea lo que una reserva necesita validar: el espacio en la fecha y,
+     * por separado, cada tipo de recurso en la fecha. Reservas de espacios y
+     * recursos distintos avanzan en paralelo.
+     *
+     * <p>Las claves se toman siempre en el mismo orden (espacio y luego tipos
+     * por id creciente) para que dos transacciones no se esperen en ciclo.
+     * Los bloqueos se liberan automáticamente al confirmar o revertir la
+     * transacción que realiza la reserva.</p>
      */
-    public void bloquearFecha(LocalDate fecha) {
-        eventoRepository.bloquearFechaParaReserva(fecha.toEpochDay());
+    public void bloquearReserva(Long espacioId, LocalDate fecha, Collection<Long> tipoIds) {
+        if (!restriccionSolapamientoActiva) {
+            eventoRepository.bloquearClaveDeReserva(claveDeBloqueo(ESPACIO_BLOQUEO, espacioId, fecha));
+        }
+        new TreeSet<>(tipoIds).forEach(tipoId ->
+                eventoRepository.bloquearClaveDeReserva(claveDeBloqueo(RECURSO_BLOQUEO, tipoId, fecha)));
     }
 
     public boolean verificarDisponibilidad(LocalDate fecha, LocalTime horaInicio, LocalTime horaFin) {
@@ -37,16 +70,16 @@ public class DisponibilidadService {
                 horaFin);
     }
 
+    /**
+     * Consulta de lectura: se responde desde el índice en memoria cuando este
+     * cubre el espacio y la fecha solicitados.
+     */
     public boolean verificarDisponibilidad(
             Long espacioId,
             LocalDate fecha,
             LocalTime horaInicio,
             LocalTime horaFin) {
-        espacioService.obtenerActivo(espacioId);
-        LocalTime inicioConPreparacion = horaInicio.minusMinutes(MINUTOS_PREPARACION);
-        LocalTime finConPreparacion = horaFin.plusMinutes(MINUTOS_PREPARACION);
-        return !eventoRepository.tieneConflictoHorarioEnEspacio(
-                espacioId, fecha, inicioConPreparacion, finConPreparacion, null);
+        return consultar(espacioId, fecha, horaInicio, horaFin, null);
     }
 
     public boolean verificarDisponibilidadParaActualizacion(
@@ -55,10 +88,193 @@ public class DisponibilidadService {
             LocalDate fecha,
             LocalTime horaInicio,
             LocalTime horaFin) {
+        return consultar(espacioId, fecha, horaInicio, horaFin, eventoId);
+    }
+
+    /**
+     * A partir de este momento la restricción de exclusión de
+     * {@code eventos_auditorio} garantiza que no haya solapamientos en un
+     * espacio: las reservas dejan de bloquear el espacio y de consultar
+     * conflictos, y se insertan directamente.
+     */
+    public void activarRestriccionSolapamiento() {
+        restriccionSolapamientoActiva = true;
+    }
+
+    public boolean delegaSolapamientoABaseDeDatos() {
+        return restriccionSolapamientoActiva;
+    }
+
+    /**
+     * Reconoce la violación de la restricción de exclusión (SQLSTATE 23P01)
+     * dentro de la cadena de causas de un error de integridad.
+     */
+    public boolean esSolapamiento(DataIntegrityViolationException exception) {
+        for (Throwable causa = exception; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql && VIOLACION_EXCLUSION.equals(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Validación definitiva contra la base de datos. Debe ejecutarse dentro de
+     * la transacción de la reserva, después de {@link #bloquearReserva}.
+     */
+    public boolean confirmarDisponibilidad(
+            Long eventoId,
+            Long espacioId,
+            LocalDate fecha,
+            LocalTime horaInicio,
+            LocalTime horaFin) {
         espacioService.obtenerActivo(espacioId);
         LocalTime inicioConPreparacion = horaInicio.minusMinutes(MINUTOS_PREPARACION);
         LocalTime finConPreparacion = horaFin.plusMinutes(MINUTOS_PREPARACION);
         return !eventoRepository.tieneConflictoHorarioEnEspacio(
                 espacioId, fecha, inicioConPreparacion, finConPreparacion, eventoId);
     }
+
+    private boolean consultar(
+            Long espacioId,
+            LocalDate fecha,
+            LocalTime horaInicio,
+            LocalTime horaFin,
+            Long eventoId) {
+        if (indiceOcupacion.cubre(espacioId, fecha)) {
+            return indiceOcupacion.estaLibre(espacioId, fecha, horaInicio, horaFin, eventoId);
+        }
+        return confirmarDisponibilidad(eventoId, espacioId, fecha, horaInicio, horaFin);
+    }
+
+    /**
+     * Calcula la primera fecha permitida contando únicamente de lunes a
+     * viernes. El día actual no se incluye dentro de los tres días hábiles.
+     */
+    public LocalDate calcularFechaMinimaReserva() {
+        LocalDate fecha = LocalDate.now(ZONA_ECUADOR);
+        int diasHabiles = 0;
+        while (diasHabiles < 3) {
+            fecha = fecha.plusDays(1);
+            if (fecha.getDayOfWeek() != DayOfWeek.SATURDAY
+                    && fecha.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                diasHabiles++;
+            }
+        }
+        return fecha;
+    }
+
+    /**
+     * Busca todas las ventanas libres de al menos {@code duracionMinutos}
+     * dentro de la jornada indicada. Las reservas del rango se leen con una
+     * sola consulta ordenada por espacio, fecha y hora, y cada día se resuelve
+     * recorriendo sus intervalos una sola vez.
+     */
+    @Transactional(readOnly = true)
+    public List<HorarioLibreDTO> buscarHorariosLibres(
+            Long espacioId,
+            LocalDate fechaInicio,
+            LocalDate fechaFin,
+            int duracionMinutos,
+            int asistentes,
+            LocalTime horaDesde,
+            LocalTime horaHasta) {
+        if (fechaFin.isBefore(fechaInicio)) {
+            throw new IllegalArgumentException("La fecha final no puede ser anterior a la fecha inicial");
+        }
+        if (ChronoUnit.DAYS.between(fechaInicio, fechaFin) >= DIAS_MAXIMOS_BUSQUEDA) {
+            throw new IllegalArgumentException(
+                    "El rango de búsqueda no puede superar " + DIAS_MAXIMOS_BUSQUEDA + " días");
+        }
+        if (duracionMinutos < 1) {
+            throw new IllegalArgumentException("La duración debe ser mayor que cero");
+        }
+        if (asistentes < 1) {
+            throw new IllegalArgumentException("Debe existir al menos un asistente");
+        }
+        if (!horaDesde.isBefore(horaHasta)) {
+            throw new IllegalArgumentException("La hora de inicio debe ser anterior a la hora de finalización");
+        }
+
+        List<Espacio> espacios = (espacioId == null
+                ? espacioService.listarActivos()
+                : List.of(espacioService.obtenerActivo(espacioId)))
+                .stream()
+                .filter(espacio -> espacio.getAforo() >= asistentes)
+                .toList();
+
+        LocalDate fechaMinima = calcularFechaMinimaReserva();
+        LocalDate desde = fechaInicio.isBefore(fechaMinima) ? fechaMinima : fechaInicio;
+        List<HorarioLibreDTO> libres = new ArrayList<>();
+        if (espacios.isEmpty() || desde.isAfter(fechaFin)) {
+            return libres;
+        }
+
+        List<OcupacionEspacio> ocupaciones =
+                eventoRepository.listarOcupacionesEntre(desde, fechaFin, espacioId);
+
+        int inicioJornada = horaDesde.toSecondOfDay();
+        int finJornada = horaHasta.toSecondOfDay();
+        int duracion = duracionMinutos * 60;
+        int preparacion = MINUTOS_PREPARACION * 60;
+
+        for (Espacio espacio : espacios) {
+            int cursor = primeraOcupacionDe(ocupaciones, espacio.getId());
+            for (LocalDate fecha = desde; !fecha.isAfter(fechaFin); fecha = fecha.plusDays(1)) {
+                int libreDesde = inicioJornada;
+                for (; cursor < ocupaciones.size()
+                        && ocupaciones.get(cursor).espacioId().equals(espacio.getId())
+                        && ocupaciones.get(cursor).fecha().equals(fecha); cursor++) {
+                    OcupacionEspacio ocupacion = ocupaciones.get(cursor);
+                    int bloqueadoDesde = ocupacion.horaInicio().toSecondOfDay() - preparacion;
+                    int bloqueadoHasta = ocupacion.horaFin().toSecondOfDay() + preparacion;
+                    agregarSiCabe(libres, espacio, fecha,
+                            libreDesde, Math.min(bloqueadoDesde, finJornada), duracion);
+                    libreDesde = Math.max(libreDesde, bloqueadoHasta);
+                }
+                agregarSiCabe(libres, espacio, fecha, libreDesde, finJornada, duracion);
+            }
+        }
+        return libres;
+    }
+
+    private int primeraOcupacionDe(List<OcupacionEspacio> ocupaciones, Long espacioId) {
+        // La lista viene ordenada por espacio, así que basta una búsqueda binaria.
+        int bajo = 0;
+        int alto = ocupaciones.size();
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (ocupaciones.get(medio).espacioId() < espacioId) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    private void agregarSiCabe(
+            List<HorarioLibreDTO> libres,
+            Espacio espacio,
+            LocalDate fecha,
+            int desde,
+            int hasta,
+            int duracion) {
+        if (hasta - desde >= duracion) {
+            libres.add(new HorarioLibreDTO(
+                    espacio.getId(),
+                    espacio.getNombre(),
+                    fecha,
+                    LocalTime.ofSecondOfDay(desde),
+                    LocalTime.ofSecondOfDay(hasta)));
+        }
+    }
+
+    /**
+     * Compone una clave de 64 bits: 4 bits para el tipo de bloqueo, 36 para
+     * el id y 24 para el día.
+     */
+    private long claveDeBloqueo(long tipoBloqueo, Long id, LocalDate fecha) {
+        return (tipoBloqueo << 60) | ((id & 0xFFFFFFFFFL) << 24) | (fecha.toEpochDay() & 0xFFFFFFL);
+    }
 }
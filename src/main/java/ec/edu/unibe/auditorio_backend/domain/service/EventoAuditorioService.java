@@ -2,44 +2,69 @@ package ec.edu.unibe.auditorio_backend.domain.service;
 
 import ec.edu.unibe.auditorio_backend.application.dto.AprobacionEventoDTO;
 import ec.edu.unibe.auditorio_backend.application.dto.DocumentoAprobacionDTO;
+import ec.edu.unibe.auditorio_backend.application.dto.PaginaCursorDTO;
 import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
 import ec.edu.unibe.auditorio_backend.domain.entity.Espacio;
 import ec.edu.unibe.auditorio_backend.domain.entity.Responsable;
 import ec.edu.unibe.auditorio_backend.domain.entity.Usuario;
 import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
 import ec.edu.unibe.auditorio_backend.domain.enums.RolUsuario;
+import ec.edu.unibe.auditorio_backend.domain.repository.DocumentoAprobacionMetadatos;
 import ec.edu.unibe.auditorio_backend.domain.repository.EventoAuditorioRepository;
+import ec.edu.unibe.auditorio_backend.domain.repository.EventoResumen;
+import ec.edu.unibe.auditorio_backend.domain.repository.RequerimientoResumen;
 import ec.edu.unibe.auditorio_backend.domain.repository.UsuarioRepository;
 import ec.edu.unibe.auditorio_backend.domain.repository.NotificacionRepository;
+import ec.edu.unibe.auditorio_backend.infrastructure.exportacion.EscritorTabla;
+import ec.edu.unibe.auditorio_backend.infrastructure.exportacion.FormatoExportacion;
+import ec.edu.unibe.auditorio_backend.infrastructure.scheduling.SoloNodoLider;
 import jakarta.annotation.PostConstruct;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.scheduling.annotation.Scheduled; // ← NUEVO IMPORT
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import jakarta.persistence.criteria.JoinType;
 import jakarta.persistence.criteria.Predicate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.time.ZoneId;
-import java.time.DayOfWeek;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Locale;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 public class EventoAuditorioService {
 
     private static final ZoneId ZONA_ECUADOR = ZoneId.of("America/Guayaquil");
+    private static final String MENSAJE_ESPACIO_OCUPADO =
+            "El espacio no está disponible en ese horario. Debe existir 1 hora de preparación entre eventos.";
+    private static final Sort ORDEN_CALENDARIO =
+            Sort.by(Sort.Order.asc("fechaEvento"), Sort.Order.asc("horaInicio"), Sort.Order.asc("id"));
+    private static final Sort ORDEN_LISTADOS =
+            Sort.by(Sort.Order.desc("fechaEvento"), Sort.Order.desc("horaInicio"), Sort.Order.desc("id"));
+    private static final List<String> COLUMNAS_CURSOR = List.of("fechaEvento", "horaInicio", "id");
+    private static final List<String> COLUMNAS_EXPORTACION = List.of(
+            "Id", "Evento", "Fecha", "Hora inicio", "Hora fin", "Espacio", "Estado", "Asistentes",
+            "Disposición", "Responsable", "Correo del responsable", "Solicitante", "Público externo",
+            "Empresa", "Público interno", "Carrera", "Registro previo", "Motivo de rechazo");
     private static final long TAMANIO_MAXIMO_DOCUMENTO = 10L * 1024L * 1024L;
     private static final Set<String> TIPOS_DOCUMENTO_PERMITIDOS = Set.of(
             "application/pdf",
@@ -55,6 +80,8 @@ public class EventoAuditorioService {
     private final RequerimientoService requerimientoService;
     private final ResponsableService responsableService;
     private final EspacioService espacioService;
+    private final BusquedaEventosService busquedaEventos;
+    private final AlmacenDocumentos almacenDocumentos;
     private final ApplicationEventPublisher eventPublisher;
 
     public EventoAuditorioService(
@@ -65,6 +92,8 @@ public class EventoAuditorioService {
             RequerimientoService requerimientoService,
             ResponsableService responsableService,
             EspacioService espacioService,
+            BusquedaEventosService busquedaEventos,
+            AlmacenDocumentos almacenDocumentos,
             ApplicationEventPublisher eventPublisher) {
         this.eventoRepository = eventoRepository;
         this.notificacionRepository = notificacionRepository;
@@ -73,29 +102,32 @@ public class EventoAuditorioService {
         this.requerimientoService = requerimientoService;
         this.responsableService = responsableService;
         this.espacioService = espacioService;
+        this.busquedaEventos = busquedaEventos;
+        this.almacenDocumentos = almacenDocumentos;
         this.eventPublisher = eventPublisher;
     }
 
     // ==================== SCHEDULER AUTOMÁTICO ====================
     /**
      * Revisa cada minuto los eventos aprobados y los completa cuando alcanza
-     * su fecha y hora de finalización en el horario de Ecuador.
+     * su fecha y hora de finalización en el horario de Ecuador. Solo se leen
+     * los identificadores de los que ya terminaron, mediante un índice, y se
+     * actualizan con una sola sentencia; el costo no depende de cuántas
+     * reservas aprobadas futuras existan.
      */
     @PostConstruct
     @Scheduled(cron = "0 * * * * *", zone = "America/Guayaquil")
+    @SoloNodoLider
     @Transactional
     public void marcarEventosCompletadosAutomaticamente() {
         LocalDateTime ahora = LocalDateTime.now(ZONA_ECUADOR);
 
-        List<EventoAuditorio> eventosAprobados = eventoRepository.findByEstado(EstadoEvento.APROBADO);
+        List<Long> finalizados = eventoRepository.findIdsAprobadosFinalizados(
+                ahora.toLocalDate(), ahora.toLocalTime());
 
-        List<EventoAuditorio> aCompletar = eventosAprobados.stream()
-                .filter(evento -> eventoYaFinalizo(evento, ahora))
-                .toList();
-
-        if (!aCompletar.isEmpty()) {
-            aCompletar.forEach(evento -> evento.setEstado(EstadoEvento.COMPLETADO));
-            eventoRepository.saveAll(aCompletar); // más eficiente que save() uno a uno
+        if (!finalizados.isEmpty()) {
+            eventoRepository.completarAprobados(finalizados);
+            finalizados.forEach(id -> eventPublisher.publishEvent(new ReservaModificadaEvent(id)));
         }
     }
 
@@ -112,17 +144,22 @@ public class EventoAuditorioService {
         validarDatosEvento(evento, espacio);
 
         // ← NUEVO: validar mínimo 2 semanas de anticipación
-        if (evento.getFechaEvento().isBefore(calcularFechaMinimaReserva())) {
+        if (evento.getFechaEvento().isBefore(disponibilidadService.calcularFechaMinimaReserva())) {
             throw new RuntimeException(
                     "La fecha del evento debe tener al menos 3 días hábiles de anticipación.");
         }
 
-        disponibilidadService.bloquearFecha(evento.getFechaEvento());
+        disponibilidadService.bloquearReserva(
+                espacio.getId(), evento.getFechaEvento(), tiposSolicitados(evento.getRequerimientos()));
 
-        if (!disponibilidadService.verificarDisponibilidad(
-                espacio.getId(), evento.getFechaEvento(), evento.getHoraInicio(), evento.getHoraFin())) {
-            throw new RuntimeException(
-                    "El espacio no está disponible en ese horario. Debe existir 1 hora de preparación entre eventos.");
+        if (!disponibilidadService.delegaSolapamientoABaseDeDatos()
+                && !disponibilidadService.confirmarDisponibilidad(
+                        null,
+                        espacio.getId(),
+                        evento.getFechaEvento(),
+                        evento.getHoraInicio(),
+                        evento.getHoraFin())) {
+            throw new RuntimeException(MENSAJE_ESPACIO_OCUPADO);
         }
 
         requerimientoService.validarDisponibilidad(
@@ -139,8 +176,12 @@ public class EventoAuditorioService {
 
         requerimientoService.vincularRequerimientos(evento, evento.getRequerimientos());
 
-        EventoAuditorio guardado = eventoRepository.save(evento);
-        eventPublisher.publishEvent(new ReservaCreadaEvent(guardado.getId()));
+        EventoAuditorio guardado = guardarSinSolapamiento(evento);
+        eventPublisher.publishEvent(new ReservaCreadaEvent(
+                ReservaInstantanea.de(guardado),
+                usuarioRepository.findByRoleAndActivoTrue(RolUsuario.ADMIN).stream()
+                        .map(DestinatarioReserva::de)
+                        .toList()));
         return guardado;
     }
 
@@ -159,27 +200,29 @@ public class EventoAuditorioService {
         validarDatosEvento(eventoActualizado, espacio);
 
         // ← NUEVO: validar mínimo 2 semanas también al actualizar
-        if (eventoActualizado.getFechaEvento().isBefore(calcularFechaMinimaReserva())) {
+        if (eventoActualizado.getFechaEvento().isBefore(disponibilidadService.calcularFechaMinimaReserva())) {
             throw new RuntimeException(
                     "La fecha del evento debe tener al menos 3 días hábiles de anticipación.");
         }
 
-        disponibilidadService.bloquearFecha(eventoActualizado.getFechaEvento());
-
-        if (!disponibilidadService.verificarDisponibilidadParaActualizacion(
-                eventoExistente.getId(),
-                espacio.getId(),
-                eventoActualizado.getFechaEvento(),
-                eventoActualizado.getHoraInicio(),
-                eventoActualizado.getHoraFin())) {
-            throw new RuntimeException(
-                    "El espacio no está disponible en ese horario. Debe existir 1 hora de preparación entre eventos.");
-        }
-
         List<ec.edu.unibe.auditorio_backend.domain.entity.Requerimiento> recursosAValidar =
                 eventoActualizado.getRequerimientos() != null
                         ? eventoActualizado.getRequerimientos()
                         : eventoExistente.getRequerimientos();
+
+        disponibilidadService.bloquearReserva(
+                espacio.getId(), eventoActualizado.getFechaEvento(), tiposSolicitados(recursosAValidar));
+
+        if (!disponibilidadService.delegaSolapamientoABaseDeDatos()
+                && !disponibilidadService.confirmarDisponibilidad(
+                        eventoExistente.getId(),
+                        espacio.getId(),
+                        eventoActualizado.getFechaEvento(),
+                        eventoActualizado.getHoraInicio(),
+                        eventoActualizado.getHoraFin())) {
+            throw new RuntimeException(MENSAJE_ESPACIO_OCUPADO);
+        }
+
         requerimientoService.validarDisponibilidad(
                 recursosAValidar,
                 eventoActualizado.getFechaEvento(),
@@ -201,7 +244,9 @@ public class EventoAuditorioService {
                     eventoActualizado.getRequerimientos());
         }
 
-        return eventoRepository.save(eventoExistente);
+        EventoAuditorio guardado = guardarSinSolapamiento(eventoExistente);
+        eventPublisher.publishEvent(new ReservaModificadaEvent(guardado.getId()));
+        return guardado;
     }
 
     @Transactional
@@ -218,7 +263,10 @@ public class EventoAuditorioService {
         }
 
         if (aprobacionDTO.getEstado() == EstadoEvento.APROBADO) {
-            disponibilidadService.bloquearFecha(evento.getFechaEvento());
+            disponibilidadService.bloquearReserva(
+                    evento.getEspacio().getId(),
+                    evento.getFechaEvento(),
+                    tiposSolicitados(evento.getRequerimientos()));
 
             requerimientoService.validarDisponibilidad(
                     evento.getRequerimientos(),
@@ -227,12 +275,13 @@ public class EventoAuditorioService {
                     evento.getHoraFin(),
                     evento.getId());
 
-            boolean conflicto = !disponibilidadService.verificarDisponibilidadParaActualizacion(
-                    evento.getId(),
-                    evento.getEspacio().getId(),
-                    evento.getFechaEvento(),
-                    evento.getHoraInicio(),
-                    evento.getHoraFin());
+            boolean conflicto = !disponibilidadService.delegaSolapamientoABaseDeDatos()
+                    && !disponibilidadService.confirmarDisponibilidad(
+                            evento.getId(),
+                            evento.getEspacio().getId(),
+                            evento.getFechaEvento(),
+                            evento.getHoraInicio(),
+                            evento.getHoraFin());
 
             if (conflicto) {
                 throw new RuntimeException(
@@ -269,7 +318,11 @@ public class EventoAuditorioService {
         // Conserva el historial de notificaciones, pero elimina el enlace a
         // una reserva que dejará de existir.
         notificacionRepository.desvincularEvento(id);
+        if (evento.getDocumentoAprobacionHash() != null) {
+            almacenDocumentos.liberarAlTerminar(evento.getDocumentoAprobacionHash());
+        }
         eventoRepository.delete(evento);
+        eventPublisher.publishEvent(new ReservaEliminadaEvent(id));
     }
 
     @Transactional
@@ -291,25 +344,46 @@ public class EventoAuditorioService {
         return guardado;
     }
 
-    public List<EventoAuditorio> listarEventos() {
-        return eventoRepository.findAll(); // ← ya no llama a actualizarEventosCompletados()
+    public List<EventoResumen> listarEventos() {
+        return listarResumenes((root, query, cb) -> cb.conjunction());
     }
 
-    public List<EventoAuditorio> listarEventosPorUsuario(String username) {
+    public List<EventoResumen> listarEventosPorUsuario(String username) {
         Usuario usuario = buscarUsuarioPorUsername(username);
-        return eventoRepository.findByUsuarioSolicitanteId(usuario.getId());
+        return listarResumenes((root, query, cb) ->
+                cb.equal(root.get("usuarioSolicitante").get("id"), usuario.getId()));
     }
 
-    public List<EventoAuditorio> listarEventosPorEstado(EstadoEvento estado) {
-        return eventoRepository.findByEstado(estado);
+    public List<EventoResumen> listarEventosPorEstado(EstadoEvento estado) {
+        return listarResumenes((root, query, cb) -> cb.equal(root.get("estado"), estado));
     }
 
-    public List<EventoAuditorio> listarEventosPorEstadoYEspacio(EstadoEvento estado, Long espacioId) {
-        return eventoRepository.findByEstadoAndEspacioId(estado, espacioId);
+    /**
+     * Reservas del calendario en el rango indicado, con los mismos campos
+     * que los demás listados. Las fechas solo filtran cuando llegan las dos;
+     * con una sola o ninguna se devuelve todo el historial, como antes.
+     */
+    public List<EventoResumen> listarCalendario(
+            LocalDate fechaInicio,
+            LocalDate fechaFin,
+            Long espacioId,
+            Set<EstadoEvento> estados) {
+        Specification<EventoAuditorio> filtros = (root, query, cb) -> {
+            List<Predicate> condiciones = new ArrayList<>();
+            condiciones.add(root.get("estado").in(estados));
+            if (fechaInicio != null && fechaFin != null) {
+                condiciones.add(cb.between(root.get("fechaEvento"), fechaInicio, fechaFin));
+            }
+            if (espacioId != null) {
+                condiciones.add(cb.equal(root.get("espacio").get("id"), espacioId));
+            }
+            return cb.and(condiciones.toArray(Predicate[]::new));
+        };
+        return conRequerimientos(eventoRepository.buscarResumenes(filtros, ORDEN_CALENDARIO));
     }
 
-    public List<EventoAuditorio> listarEventosCompletados() {
-        return eventoRepository.findByEstado(EstadoEvento.COMPLETADO);
+    public List<EventoResumen> listarEventosCompletados() {
+        return listarEventosPorEstado(EstadoEvento.COMPLETADO);
     }
 
     public List<EventoAuditorio> listarEventosPorFecha(LocalDate fecha) {
@@ -343,28 +417,44 @@ public class EventoAuditorioService {
         verificarReservaEditableParaDocumento(evento);
         validarDocumento(archivo);
 
-        try {
-            evento.setDocumentoAprobacionNombre(limpiarNombreArchivo(archivo.getOriginalFilename()));
-            evento.setDocumentoAprobacionTipo(archivo.getContentType());
-            evento.setDocumentoAprobacionTamanio(archivo.getSize());
-            evento.setDocumentoAprobacionContenido(archivo.getBytes());
-            return eventoRepository.save(evento);
+        String hash;
+        try (InputStream contenido = archivo.getInputStream()) {
+            hash = almacenDocumentos.guardar(contenido);
         } catch (IOException exception) {
             throw new IllegalArgumentException("No se pudo leer el documento de aprobación");
         }
+        String anterior = evento.getDocumentoAprobacionHash();
+        if (anterior != null && !anterior.equals(hash)) {
+            almacenDocumentos.liberarAlTerminar(anterior);
+        }
+
+        evento.setDocumentoAprobacionNombre(limpiarNombreArchivo(archivo.getOriginalFilename()));
+        evento.setDocumentoAprobacionTipo(archivo.getContentType());
+        evento.setDocumentoAprobacionTamanio(archivo.getSize());
+        evento.setDocumentoAprobacionHash(hash);
+        EventoAuditorio guardado = eventoRepository.save(evento);
+        eventPublisher.publishEvent(new ReservaModificadaEvent(guardado.getId()));
+        return guardado;
     }
 
+    /**
+     * Solo lee los metadatos del documento; la reserva y sus relaciones no se
+     * cargan para una descarga.
+     */
     @Transactional(readOnly = true)
     public DocumentoAprobacionDTO descargarDocumentoAprobacion(Long eventoId, String username) {
-        EventoAuditorio evento = obtenerEventoPorIdAutorizado(eventoId, username);
-        if (!evento.isTieneDocumentoAprobacion()) {
+        DocumentoAprobacionMetadatos documento = eventoRepository.buscarMetadatosDocumento(eventoId)
+                .orElseThrow(() -> new NoSuchElementException("Evento no encontrado con ID: " + eventoId));
+        verificarPermisos(documento.solicitanteId(), buscarUsuarioPorUsername(username));
+        if (!documento.tieneDocumento()) {
             throw new NoSuchElementException("La reserva no tiene un documento de aprobación");
         }
         return new DocumentoAprobacionDTO(
-                evento.getDocumentoAprobacionNombre(),
-                evento.getDocumentoAprobacionTipo(),
-                evento.getDocumentoAprobacionTamanio(),
-                evento.getDocumentoAprobacionContenido());
+                documento.nombre(),
+                documento.tipoContenido(),
+                documento.tamanio(),
+                documento.hash(),
+                almacenDocumentos.abrir(documento.hash()));
     }
 
     @Transactional
@@ -373,11 +463,15 @@ public class EventoAuditorioService {
         Usuario usuario = buscarUsuarioPorUsername(username);
         verificarPermisos(evento, usuario);
         verificarReservaEditableParaDocumento(evento);
+        if (evento.getDocumentoAprobacionHash() != null) {
+            almacenDocumentos.liberarAlTerminar(evento.getDocumentoAprobacionHash());
+        }
         evento.setDocumentoAprobacionNombre(null);
         evento.setDocumentoAprobacionTipo(null);
         evento.setDocumentoAprobacionTamanio(null);
-        evento.setDocumentoAprobacionContenido(null);
+        evento.setDocumentoAprobacionHash(null);
         eventoRepository.save(evento);
+        eventPublisher.publishEvent(new ReservaModificadaEvent(eventoId));
     }
 
     public List<EventoAuditorio> obtenerEventosProximos(int dias) {
@@ -398,8 +492,13 @@ public class EventoAuditorioService {
     }
 
     private void verificarPermisos(EventoAuditorio evento, Usuario usuario) {
-        boolean esSolicitante = evento.getUsuarioSolicitante() != null &&
-                evento.getUsuarioSolicitante().getId().equals(usuario.getId());
+        verificarPermisos(
+                evento.getUsuarioSolicitante() != null ? evento.getUsuarioSolicitante().getId() : null,
+                usuario);
+    }
+
+    private void verificarPermisos(Long solicitanteId, Usuario usuario) {
+        boolean esSolicitante = usuario.getId().equals(solicitanteId);
         boolean esAdmin = esAdmin(usuario);
 
         if (!esSolicitante && !esAdmin) {
@@ -411,8 +510,8 @@ public class EventoAuditorioService {
         return usuario.getRole() == RolUsuario.ADMIN;
     }
 
-    @Transactional
-    public Page<EventoAuditorio> listarPaginado(
+    @Transactional(readOnly = true)
+    public Page<EventoResumen> listarPaginado(
             String username,
             boolean administrador,
             String buscar,
@@ -422,12 +521,77 @@ public class EventoAuditorioService {
             int tamanio) {
         int paginaSegura = Math.max(pagina, 0);
         int tamanioSeguro = Math.min(Math.max(tamanio, 1), 100);
-        PageRequest pageRequest = PageRequest.of(
-                paginaSegura,
+        PageRequest pageRequest = PageRequest.of(paginaSegura, tamanioSeguro, ORDEN_LISTADOS);
+
+        Specification<EventoAuditorio> filtros =
+                filtrosDeListado(username, administrador, buscar, estado, espacioId, true);
+        Page<EventoResumen> resumenes = eventoRepository.buscarResumenes(filtros, pageRequest);
+        return new PageImpl<>(
+                conRequerimientos(resumenes.getContent()),
+                resumenes.getPageable(),
+                resumenes.getTotalElements());
+    }
+
+    /**
+     * Variante por cursor del listado paginado: cada página continúa desde
+     * la última reserva entregada usando el índice de fecha, hora e id, por
+     * lo que su costo no depende de cuántas páginas se hayan recorrido. El
+     * total solo se cuenta si se solicita.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<EventoResumen> listarPorCursor(
+            String username,
+            boolean administrador,
+            String buscar,
+            EstadoEvento estado,
+            Long espacioId,
+            String cursor,
+            int tamanio,
+            boolean incluirTotal) {
+        int tamanioSeguro = Math.min(Math.max(tamanio, 1), 100);
+        CursorPagina posicion = CursorPagina.leer(cursor, COLUMNAS_CURSOR.size());
+        // El cursor depende del orden por fecha, así que aquí no se ordena por relevancia.
+        Specification<EventoAuditorio> filtros =
+                filtrosDeListado(username, administrador, buscar, estado, espacioId, false);
+
+        Specification<EventoAuditorio> consulta = filtros;
+        Sort orden = ORDEN_LISTADOS;
+        if (posicion != null) {
+            consulta = filtros.and(posicion.condicion(COLUMNAS_CURSOR, clavesDeCursor(posicion), true));
+            orden = posicion.haciaAtras() ? ORDEN_LISTADOS.reverse() : ORDEN_LISTADOS;
+        }
+
+        List<EventoResumen> filas = eventoRepository.buscarResumenes(consulta, orden, tamanioSeguro + 1);
+        return CursorPagina.armar(
+                conRequerimientos(filas),
+                posicion,
                 tamanioSeguro,
-                Sort.by(Sort.Order.desc("fechaEvento"), Sort.Order.desc("horaInicio")));
+                evento -> List.of(
+                        evento.fechaEvento().toString(),
+                        evento.horaInicio().toString(),
+                        evento.id().toString()),
+                incluirTotal ? eventoRepository.count(filtros) : null);
+    }
 
-        Specification<EventoAuditorio> filtros = (root, query, cb) -> {
+    private List<? extends Comparable<?>> clavesDeCursor(CursorPagina posicion) {
+        try {
+            return List.of(
+                    LocalDate.parse(posicion.valores().get(0)),
+                    LocalTime.parse(posicion.valores().get(1)),
+                    Long.valueOf(posicion.valores().get(2)));
+        } catch (DateTimeParseException | NumberFormatException exception) {
+            throw new IllegalArgumentException("El cursor de paginación no es válido");
+        }
+    }
+
+    private Specification<EventoAuditorio> filtrosDeListado(
+            String username,
+            boolean administrador,
+            String buscar,
+            EstadoEvento estado,
+            Long espacioId,
+            boolean ordenarPorRelevancia) {
+        return (root, query, cb) -> {
             List<Predicate> condiciones = new ArrayList<>();
 
             if (!administrador) {
@@ -441,27 +605,82 @@ public class EventoAuditorioService {
                 condiciones.add(cb.equal(root.get("espacio").get("id"), espacioId));
             }
             if (buscar != null && !buscar.isBlank()) {
-                String patron = "%" + buscar.trim().toLowerCase(Locale.ROOT) + "%";
-                List<Predicate> coincidencias = new ArrayList<>();
-                coincidencias.add(cb.like(cb.lower(root.get("nombreEvento")), patron));
-                coincidencias.add(cb.like(cb.lower(root.get("descripcion")), patron));
-                coincidencias.add(cb.like(
-                        cb.lower(root.join("responsable", JoinType.LEFT).get("nombre")), patron));
-                if (administrador) {
-                    var solicitante = root.join("usuarioSolicitante", JoinType.LEFT);
-                    coincidencias.add(cb.like(cb.lower(solicitante.get("nombre")), patron));
-                    coincidencias.add(cb.like(cb.lower(solicitante.get("apellido")), patron));
-                }
-                condiciones.add(cb.or(coincidencias.toArray(Predicate[]::new)));
+                condiciones.add(busquedaEventos.coincidencia(
+                        root, query, cb, buscar, administrador, ordenarPorRelevancia));
             }
             return cb.and(condiciones.toArray(Predicate[]::new));
         };
+    }
 
-        return eventoRepository.findAll(filtros, pageRequest);
+    /**
+     * Escribe las reservas que cumplen los filtros del listado paginado a
+     * medida que se leen de la base de datos. Las filas no se acumulan, así
+     * que la memoria usada no depende del tamaño del historial.
+     */
+    @Transactional(readOnly = true)
+    public void exportar(
+            String username,
+            boolean administrador,
+            String buscar,
+            EstadoEvento estado,
+            Long espacioId,
+            FormatoExportacion formato,
+            OutputStream salida) throws IOException {
+        Specification<EventoAuditorio> filtros =
+                filtrosDeListado(username, administrador, buscar, estado, espacioId, false);
+        try (Stream<EventoResumen> eventos = eventoRepository.transmitirResumenes(filtros, ORDEN_LISTADOS);
+             EscritorTabla tabla = formato.abrir(salida)) {
+            tabla.escribirFila(COLUMNAS_EXPORTACION);
+            Iterator<EventoResumen> recorrido = eventos.iterator();
+            while (recorrido.hasNext()) {
+                tabla.escribirFila(filaDeExportacion(recorrido.next()));
+            }
+        }
+    }
+
+    private List<Object> filaDeExportacion(EventoResumen evento) {
+        return Arrays.asList(
+                evento.id(),
+                evento.nombreEvento(),
+                evento.fechaEvento(),
+                evento.horaInicio(),
+                evento.horaFin(),
+                evento.espacio() != null ? evento.espacio().nombre() : null,
+                evento.estado(),
+                evento.numeroAsistentes(),
+                evento.tipoDisposicion(),
+                evento.responsable() != null ? evento.responsable().nombre() : null,
+                evento.responsable() != null ? evento.responsable().correo() : null,
+                evento.usuarioSolicitante() != null
+                        ? evento.usuarioSolicitante().nombre() + " " + evento.usuarioSolicitante().apellido()
+                        : null,
+                siNo(evento.publicoExterno()),
+                evento.empresaPublicoExterno(),
+                siNo(evento.publicoInterno()),
+                evento.carreraPublicoInterno(),
+                siNo(evento.requiereRegistroPrevio()),
+                evento.motivoRechazo());
+    }
+
+    private String siNo(boolean valor) {
+        return valor ? "Sí" : "No";
+    }
+
+    private List<EventoResumen> listarResumenes(Specification<EventoAuditorio> filtros) {
+        return conRequerimientos(eventoRepository.buscarResumenes(filtros, ORDEN_LISTADOS));
+    }
+
+    private List<EventoResumen> conRequerimientos(List<EventoResumen> resumenes) {
+        Map<Long, List<RequerimientoResumen>> requerimientos = requerimientoService.resumenesPorEvento(
+                resumenes.stream().map(EventoResumen::id).toList());
+        return resumenes.stream()
+                .map(resumen -> resumen.conRequerimientos(
+                        requerimientos.getOrDefault(resumen.id(), List.of())))
+                .toList();
     }
 
     private void publicarCambioEstado(EventoAuditorio evento) {
-        eventPublisher.publishEvent(new ReservaEstadoCambiadoEvent(evento.getId()));
+        eventPublisher.publishEvent(new ReservaEstadoCambiadoEvent(ReservaInstantanea.de(evento)));
     }
 
     private void actualizarCamposBasicos(EventoAuditorio existente, EventoAuditorio actualizado) {
@@ -482,6 +701,33 @@ public class EventoAuditorioService {
                 actualizado.isPublicoInterno() ? normalizar(actualizado.getCarreraPublicoInterno()) : null);
     }
 
+    /**
+     * Con la restricción de exclusión activa, el solapamiento se detecta al
+     * escribir; se traduce al mismo mensaje que produce la validación previa.
+     */
+    private EventoAuditorio guardarSinSolapamiento(EventoAuditorio evento) {
+        try {
+            return eventoRepository.saveAndFlush(evento);
+        } catch (DataIntegrityViolationException exception) {
+            if (disponibilidadService.esSolapamiento(exception)) {
+                throw new RuntimeException(MENSAJE_ESPACIO_OCUPADO);
+            }
+            throw exception;
+        }
+    }
+
+    private List<Long> tiposSolicitados(
+            List<ec.edu.unibe.auditorio_backend.domain.entity.Requerimiento> requerimientos) {
+        if (requerimientos == null) {
+            return List.of();
+        }
+        return requerimientos.stream()
+                .filter(requerimiento -> requerimiento.getTipo() != null
+                        && requerimiento.getTipo().getId() != null)
+                .map(requerimiento -> requerimiento.getTipo().getId())
+                .toList();
+    }
+
     private boolean eventoYaFinalizo(EventoAuditorio evento, LocalDateTime ahora) {
         LocalDateTime finalizacion = LocalDateTime.of(
                 evento.getFechaEvento(),
@@ -549,23 +795,6 @@ public class EventoAuditorioService {
                 evento.isPublicoInterno() ? normalizar(evento.getCarreraPublicoInterno()) : null);
     }
 
-    /**
-     * Calcula la primera fecha permitida contando únicamente de lunes a
-     * viernes. El día actual no se incluye dentro de los tres días hábiles.
-     */
-    private LocalDate calcularFechaMinimaReserva() {
-        LocalDate fecha = LocalDate.now(ZONA_ECUADOR);
-        int diasHabiles = 0;
-        while (diasHabiles < 3) {
-            fecha = fecha.plusDays(1);
-            if (fecha.getDayOfWeek() != DayOfWeek.SATURDAY
-                    && fecha.getDayOfWeek() != DayOfWeek.SUNDAY) {
-                diasHabiles++;
-            }
-        }
-        return fecha;
-    }
-
     private String normalizar(String valor) {
         return valor == null ? null : valor.trim();
     }
@@ -0,0 +1,229 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
+import ec.edu.unibe.auditorio_backend.domain.repository.OcupacionEspacio;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice en memoria de las reservas PENDIENTES y APROBADAS agrupadas por
+ * espacio y fecha. Cada intervalo se guarda ya ampliado con el tiempo de
+ * preparación, de modo que una consulta de disponibilidad se resuelve con
+ * una búsqueda binaria sin acudir a la base de datos.
+ *
+ * <p>Es una caché de lectura: las reservas siguen validándose contra la base
+ * de datos dentro de la transacción que las confirma.</p>
+ */
+@Component
+public class IndiceOcupacionEspacios {
+
+    private static final int SEGUNDOS_PREPARACION = DisponibilidadService.MINUTOS_PREPARACION * 60;
+
+    private final Map<ClaveDia, DiaOcupado> diasOcupados = new ConcurrentHashMap<>();
+    private final Map<Long, ClaveDia> ubicaciones = new ConcurrentHashMap<>();
+
+    private volatile Set<Long> espaciosActivos = Set.of();
+    private volatile LocalDate cubiertoDesde;
+
+    // Cambios confirmados mientras se lee la instantánea inicial; se aplican
+    // encima de ella para no perder reservas creadas durante el arranque.
+    private Map<Long, Optional<OcupacionEspacio>> cambiosDuranteCarga;
+
+    public synchronized void iniciarCarga() {
+        cubiertoDesde = null;
+        cambiosDuranteCarga = new LinkedHashMap<>();
+    }
+
+    public synchronized void cargar(
+            LocalDate desde,
+            Collection<Long> espacios,
+            List<OcupacionEspacio> ocupaciones) {
+        diasOcupados.clear();
+        ubicaciones.clear();
+
+        Map<ClaveDia, List<Intervalo>> agrupados = new HashMap<>();
+        for (OcupacionEspacio ocupacion : ocupaciones) {
+            if (ocupaEspacio(ocupacion) && !ocupacion.fecha().isBefore(desde)) {
+                ClaveDia clave = new ClaveDia(ocupacion.espacioId(), ocupacion.fecha());
+                agrupados.computeIfAbsent(clave, k -> new ArrayList<>()).add(Intervalo.de(ocupacion));
+                ubicaciones.put(ocupacion.eventoId(), clave);
+            }
+        }
+        agrupados.forEach((clave, intervalos) -> diasOcupados.put(clave, new DiaOcupado(intervalos)));
+
+        espaciosActivos = Set.copyOf(espacios);
+        cubiertoDesde = desde;
+
+        Map<Long, Optional<OcupacionEspacio>> pendientes = cambiosDuranteCarga;
+        cambiosDuranteCarga = null;
+        if (pendientes != null) {
+            pendientes.forEach((eventoId, ocupacion) -> ocupacion.ifPresentOrElse(
+                    this::registrar,
+                    () -> retirar(eventoId)));
+        }
+    }
+
+    /**
+     * Sustituye la ubicación conocida de la reserva por su estado actual. Si
+     * la reserva ya no ocupa el espacio simplemente se retira del índice.
+     */
+    public synchronized void registrar(OcupacionEspacio ocupacion) {
+        if (cambiosDuranteCarga != null) {
+            cambiosDuranteCarga.put(ocupacion.eventoId(), Optional.of(ocupacion));
+            return;
+        }
+        retirarUbicacion(ocupacion.eventoId());
+
+        LocalDate desde = cubiertoDesde;
+        if (desde == null || !ocupaEspacio(ocupacion) || ocupacion.fecha().isBefore(desde)) {
+            return;
+        }
+        ClaveDia clave = new ClaveDia(ocupacion.espacioId(), ocupacion.fecha());
+        diasOcupados.merge(
+                clave,
+                new DiaOcupado(List.of(Intervalo.de(ocupacion))),
+                DiaOcupado::unir);
+        ubicaciones.put(ocupacion.eventoId(), clave);
+    }
+
+    public synchronized void retirar(Long eventoId) {
+        if (cambiosDuranteCarga != null) {
+            cambiosDuranteCarga.put(eventoId, Optional.empty());
+            return;
+        }
+        retirarUbicacion(eventoId);
+    }
+
+    /**
+     * Indica si el índice puede responder por el espacio y la fecha. Las
+     * fechas anteriores a la carga y los espacios desconocidos o inactivos
+     * deben consultarse en la base de datos.
+     */
+    public boolean cubre(Long espacioId, LocalDate fecha) {
+        LocalDate desde = cubiertoDesde;
+        return desde != null
+                && espacioId != null
+                && !fecha.isBefore(desde)
+                && espaciosActivos.contains(espacioId);
+    }
+
+    public boolean estaLibre(
+            Long espacioId,
+            LocalDate fecha,
+            LocalTime horaInicio,
+            LocalTime horaFin,
+            Long eventoExcluido) {
+        DiaOcupado dia = diasOcupados.get(new ClaveDia(espacioId, fecha));
+        return dia == null || !dia.tieneConflicto(
+                horaInicio.toSecondOfDay(),
+                horaFin.toSecondOfDay(),
+                eventoExcluido);
+    }
+
+    private void retirarUbicacion(Long eventoId) {
+        ClaveDia clave = ubicaciones.remove(eventoId);
+        if (clave != null) {
+            diasOcupados.computeIfPresent(clave, (k, dia) -> dia.sin(eventoId));
+        }
+    }
+
+    private boolean ocupaEspacio(OcupacionEspacio ocupacion) {
+        return ocupacion.espacioId() != null
+                && (ocupacion.estado() == EstadoEvento.PENDIENTE
+                    || ocupacion.estado() == EstadoEvento.APROBADO);
+    }
+
+    private record ClaveDia(Long espacioId, LocalDate fecha) {
+    }
+
+    /**
+     * Intervalo en segundos del día, ya ampliado con la preparación previa y
+     * posterior. No se ajusta a medianoche para no invertir los extremos.
+     */
+    private record Intervalo(long eventoId, int inicio, int fin) {
+
+        static Intervalo de(OcupacionEspacio ocupacion) {
+            return new Intervalo(
+                    ocupacion.eventoId(),
+                    ocupacion.horaInicio().toSecondOfDay() - SEGUNDOS_PREPARACION,
+                    ocupacion.horaFin().toSecondOfDay() + SEGUNDOS_PREPARACION);
+        }
+    }
+
+    /**
+     * Intervalos de un espacio en una fecha, ordenados por inicio. Es
+     * inmutable: cada cambio produce una copia, así las lecturas no necesitan
+     * sincronización.
+     */
+    private static final class DiaOcupado {
+
+        private final Intervalo[] intervalos;
+        // finMaximo[i] es el mayor fin entre intervalos[0..i]; permite cortar
+        // el recorrido hacia atrás en cuanto nada anterior puede solaparse.
+        private final int[] finMaximo;
+
+        DiaOcupado(Collection<Intervalo> intervalos) {
+            this.intervalos = intervalos.toArray(Intervalo[]::new);
+            Arrays.sort(this.intervalos, Comparator.comparingInt(Intervalo::inicio));
+            this.finMaximo = new int[this.intervalos.length];
+            int maximo = Integer.MIN_VALUE;
+            for (int i = 0; i < this.intervalos.length; i++) {
+                maximo = Math.max(maximo, this.intervalos[i].fin());
+                finMaximo[i] = maximo;
+            }
+        }
+
+        DiaOcupado unir(DiaOcupado otro) {
+            List<Intervalo> todos = new ArrayList<>(Arrays.asList(intervalos));
+            todos.addAll(Arrays.asList(otro.intervalos));
+            return new DiaOcupado(todos);
+        }
+
+        DiaOcupado sin(Long eventoId) {
+            List<Intervalo> restantes = Arrays.stream(intervalos)
+                    .filter(intervalo -> intervalo.eventoId() != eventoId)
+                    .toList();
+            return restantes.isEmpty() ? null : new DiaOcupado(restantes);
+        }
+
+        boolean tieneConflicto(int inicio, int fin, Long eventoExcluido) {
+            // Solo pueden solaparse los intervalos que empiezan antes del fin.
+            int i = primerInicioNoMenorQue(fin) - 1;
+            for (; i >= 0 && finMaximo[i] > inicio; i--) {
+                Intervalo intervalo = intervalos[i];
+                if (intervalo.fin() > inicio
+                        && (eventoExcluido == null || intervalo.eventoId() != eventoExcluido)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int primerInicioNoMenorQue(int valor) {
+            int bajo = 0;
+            int alto = intervalos.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (intervalos[medio].inicio() < valor) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+    }
+}
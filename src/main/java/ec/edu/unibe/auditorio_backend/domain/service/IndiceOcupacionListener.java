@@ -0,0 +1,68 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.repository.EventoAuditorioRepository;
+import ec.edu.unibe.auditorio_backend.infrastructure.tiemporeal.RelevoTiempoReal;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Mantiene el índice de ocupación alineado con los cambios ya confirmados.
+ * Se relee el estado actual de la reserva, por lo que el orden en que lleguen
+ * los eventos no altera el resultado final.
+ *
+ * <p>Cada cambio se avisa a las demás instancias por
+ * {@link RelevoTiempoReal} con el id de la reserva, y cada una relee su
+ * estado para actualizar su propio índice.</p>
+ */
+@Component
+public class IndiceOcupacionListener {
+
+    private static final String TEMA_RELEVO = "ocupacion";
+
+    private final EventoAuditorioRepository eventoRepository;
+    private final IndiceOcupacionEspacios indiceOcupacion;
+    private final RelevoTiempoReal relevo;
+
+    public IndiceOcupacionListener(
+            EventoAuditorioRepository eventoRepository,
+            IndiceOcupacionEspacios indiceOcupacion,
+            RelevoTiempoReal relevo) {
+        this.eventoRepository = eventoRepository;
+        this.indiceOcupacion = indiceOcupacion;
+        this.relevo = relevo;
+        relevo.suscribir(TEMA_RELEVO, Long.class, this::sincronizar);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCrearReserva(ReservaCreadaEvent event) {
+        sincronizarYAvisar(event.eventoId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCambiarEstado(ReservaEstadoCambiadoEvent event) {
+        sincronizarYAvisar(event.eventoId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alModificarReserva(ReservaModificadaEvent event) {
+        sincronizarYAvisar(event.eventoId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alEliminarReserva(ReservaEliminadaEvent event) {
+        indiceOcupacion.retirar(event.eventoId());
+        relevo.publicar(TEMA_RELEVO, event.eventoId());
+    }
+
+    private void sincronizarYAvisar(Long eventoId) {
+        sincronizar(eventoId);
+        relevo.publicar(TEMA_RELEVO, eventoId);
+    }
+
+    private void sincronizar(Long eventoId) {
+        eventoRepository.buscarOcupacion(eventoId).ifPresentOrElse(
+                indiceOcupacion::registrar,
+                () -> indiceOcupacion.retirar(eventoId));
+    }
+}
@@ -1,73 +1,99 @@
 package ec.edu.unibe.auditorio_backend.domain.service;
 
+import ec.edu.unibe.auditorio_backend.application.dto.MarcarNotificacionesLeidasDTO;
 import ec.edu.unibe.auditorio_backend.application.dto.NotificacionDTO;
-import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
+import ec.edu.unibe.auditorio_backend.application.dto.PaginaCursorDTO;
 import ec.edu.unibe.auditorio_backend.domain.entity.Notificacion;
 import ec.edu.unibe.auditorio_backend.domain.entity.Usuario;
 import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
-import ec.edu.unibe.auditorio_backend.domain.enums.RolUsuario;
 import ec.edu.unibe.auditorio_backend.domain.enums.TipoNotificacion;
+import ec.edu.unibe.auditorio_backend.domain.repository.EventoAuditorioRepository;
 import ec.edu.unibe.auditorio_backend.domain.repository.NotificacionRepository;
 import ec.edu.unibe.auditorio_backend.domain.repository.UsuarioRepository;
+import ec.edu.unibe.auditorio_backend.infrastructure.tiemporeal.CanalTiempoReal;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
 @Service
 public class NotificacionService {
 
+    private static final Sort ORDEN_BANDEJA =
+            Sort.by(Sort.Order.desc("creadaEn"), Sort.Order.desc("id"));
+    private static final List<String> COLUMNAS_CURSOR = List.of("creadaEn", "id");
+
     private final NotificacionRepository notificacionRepository;
     private final UsuarioRepository usuarioRepository;
+    private final EventoAuditorioRepository eventoRepository;
+    private final ContadorNoLeidas contadorNoLeidas;
+    private final CanalTiempoReal canalTiempoReal;
 
     public NotificacionService(
             NotificacionRepository notificacionRepository,
-            UsuarioRepository usuarioRepository) {
+            UsuarioRepository usuarioRepository,
+            EventoAuditorioRepository eventoRepository,
+            ContadorNoLeidas contadorNoLeidas,
+            CanalTiempoReal canalTiempoReal) {
         this.notificacionRepository = notificacionRepository;
         this.usuarioRepository = usuarioRepository;
+        this.eventoRepository = eventoRepository;
+        this.contadorNoLeidas = contadorNoLeidas;
+        this.canalTiempoReal = canalTiempoReal;
     }
 
+    /**
+     * Los datos vienen de la instantánea del evento de dominio; la reserva y
+     * los destinatarios se enlazan por referencia, sin volver a cargarlos.
+     */
     @Transactional
-    public void notificarNuevaReservaAAdministradores(EventoAuditorio evento) {
-        List<Usuario> administradores = usuarioRepository.findByRoleAndActivoTrue(RolUsuario.ADMIN);
+    public void notificarNuevaReservaAAdministradores(
+            ReservaInstantanea reserva,
+            List<DestinatarioReserva> administradores) {
         List<Notificacion> notificaciones = new ArrayList<>();
 
-        for (Usuario administrador : administradores) {
+        for (DestinatarioReserva administrador : administradores) {
             notificaciones.add(crear(
                     administrador,
-                    evento,
+                    reserva,
                     TipoNotificacion.NUEVA_RESERVA,
                     "Nueva reserva pendiente",
-                    evento.getUsuarioSolicitante().getNombre() + " "
-                            + evento.getUsuarioSolicitante().getApellido()
-                            + " solicitó el auditorio para “" + evento.getNombreEvento() + "”."));
+                    reserva.solicitante().nombreCompleto()
+                            + " solicitó el auditorio para “" + reserva.nombreEvento() + "”."));
         }
 
         notificacionRepository.saveAll(notificaciones);
+        for (int i = 0; i < notificaciones.size(); i++) {
+            avisarAlConfirmar(administradores.get(i).username(), notificaciones.get(i));
+        }
     }
 
     @Transactional
-    public void notificarCambioEstadoAlSolicitante(EventoAuditorio evento) {
-        Usuario solicitante = evento.getUsuarioSolicitante();
+    public void notificarCambioEstadoAlSolicitante(ReservaInstantanea reserva) {
+        DestinatarioReserva solicitante = reserva.solicitante();
         if (solicitante == null) {
             return;
         }
 
-        TipoNotificacion tipo = tipoPorEstado(evento.getEstado());
-        String estado = textoEstado(evento.getEstado());
-        String mensaje = "Tu reserva “" + evento.getNombreEvento() + "” fue " + estado + ".";
+        TipoNotificacion tipo = tipoPorEstado(reserva.estado());
+        String estado = textoEstado(reserva.estado());
+        String mensaje = "Tu reserva “" + reserva.nombreEvento() + "” fue " + estado + ".";
 
-        if (evento.getMotivoRechazo() != null && !evento.getMotivoRechazo().isBlank()) {
-            mensaje += " Motivo: " + evento.getMotivoRechazo();
+        if (reserva.motivoRechazo() != null && !reserva.motivoRechazo().isBlank()) {
+            mensaje += " Motivo: " + reserva.motivoRechazo();
         }
 
-        notificacionRepository.save(crear(
+        avisarAlConfirmar(solicitante.username(), notificacionRepository.save(crear(
                 solicitante,
-                evento,
+                reserva,
                 tipo,
                 "Reserva " + estado,
-                mensaje));
+                mensaje)));
     }
 
     @Transactional
@@ -79,9 +105,43 @@ public class NotificacionService {
                 .toList();
     }
 
+    /**
+     * Bandeja paginada por {@code creadaEn} e id, de la más reciente a la más
+     * antigua. Cada página se lee desde el índice del destinatario sin
+     * recorrer el historial anterior.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<NotificacionDTO> listarPorCursor(String username, String cursor, int tamanio) {
+        int tamanioSeguro = Math.min(Math.max(tamanio, 1), 100);
+        CursorPagina posicion = CursorPagina.leer(cursor, COLUMNAS_CURSOR.size());
+        Long destinatarioId = buscarUsuario(username).getId();
+
+        Specification<Notificacion> consulta = (root, query, cb) ->
+                cb.equal(root.get("destinatario").get("id"), destinatarioId);
+        Sort orden = ORDEN_BANDEJA;
+        if (posicion != null) {
+            consulta = consulta.and(posicion.condicion(COLUMNAS_CURSOR, clavesDeCursor(posicion), true));
+            orden = posicion.haciaAtras() ? ORDEN_BANDEJA.reverse() : ORDEN_BANDEJA;
+        }
+
+        Sort ordenConsulta = orden;
+        List<NotificacionDTO> filas = notificacionRepository.findBy(consulta, query -> query
+                        .sortBy(ordenConsulta)
+                        .limit(tamanioSeguro + 1)
+                        .all())
+                .stream()
+                .map(this::aDTO)
+                .toList();
+        return CursorPagina.armar(
+                filas,
+                posicion,
+                tamanioSeguro,
+                notificacion -> List.of(notificacion.creadaEn().toString(), notificacion.id().toString()),
+                null);
+    }
+
     public long contarNoLeidas(String username) {
-        Usuario usuario = buscarUsuario(username);
-        return notificacionRepository.countByDestinatarioIdAndLeidaFalse(usuario.getId());
+        return contadorNoLeidas.obtener(username);
     }
 
     @Transactional
@@ -89,28 +149,63 @@ public class NotificacionService {
         Usuario usuario = buscarUsuario(username);
         Notificacion notificacion = notificacionRepository.findByIdAndDestinatarioId(id, usuario.getId())
                 .orElseThrow(() -> new RuntimeException("Notificación no encontrada"));
-        notificacion.setLeida(true);
+        if (!notificacion.isLeida()) {
+            notificacion.setLeida(true);
+            contadorNoLeidas.ajustarAlConfirmar(username, -1);
+        }
         return aDTO(notificacionRepository.save(notificacion));
     }
 
+    /**
+     * Marca todo en una sola sentencia y devuelve cuántas cambiaron, lo que
+     * ajusta el contador sin volver a contar.
+     */
+    @Transactional
+    public int marcarTodasComoLeidas(String username) {
+        Usuario usuario = buscarUsuario(username);
+        int actualizadas = notificacionRepository.marcarTodasComoLeidas(usuario.getId());
+        contadorNoLeidas.ajustarAlConfirmar(username, -actualizadas);
+        return actualizadas;
+    }
+
+    /**
+     * Marca como leídas las notificaciones indicadas o todas las creadas
+     * hasta {@code hasta}, en una sola sentencia.
+     */
     @Transactional
-    public void marcarTodasComoLeidas(String username) {
+    public int marcarComoLeidas(String username, MarcarNotificacionesLeidasDTO criterio) {
         Usuario usuario = buscarUsuario(username);
-        List<Notificacion> pendientes =
-                notificacionRepository.findByDestinatarioIdAndLeidaFalse(usuario.getId());
-        pendientes.forEach(notificacion -> notificacion.setLeida(true));
-        notificacionRepository.saveAll(pendientes);
+        int actualizadas = criterio.hasta() != null
+                ? notificacionRepository.marcarComoLeidasHasta(usuario.getId(), criterio.hasta())
+                : notificacionRepository.marcarComoLeidas(usuario.getId(), criterio.ids());
+        contadorNoLeidas.ajustarAlConfirmar(username, -actualizadas);
+        return actualizadas;
+    }
+
+    private List<? extends Comparable<?>> clavesDeCursor(CursorPagina posicion) {
+        try {
+            return List.of(
+                    LocalDateTime.parse(posicion.valores().get(0)),
+                    Long.valueOf(posicion.valores().get(1)));
+        } catch (DateTimeParseException | NumberFormatException exception) {
+            throw new IllegalArgumentException("El cursor de paginación no es válido");
+        }
+    }
+
+    private void avisarAlConfirmar(String username, Notificacion notificacion) {
+        contadorNoLeidas.ajustarAlConfirmar(username, 1);
+        canalTiempoReal.enviarAlConfirmar(username, "notificacion", aDTO(notificacion));
     }
 
     private Notificacion crear(
-            Usuario destinatario,
-            EventoAuditorio evento,
+            DestinatarioReserva destinatario,
+            ReservaInstantanea reserva,
             TipoNotificacion tipo,
             String titulo,
             String mensaje) {
         Notificacion notificacion = new Notificacion();
-        notificacion.setDestinatario(destinatario);
-        notificacion.setEvento(evento);
+        notificacion.setDestinatario(usuarioRepository.getReferenceById(destinatario.id()));
+        notificacion.setEvento(eventoRepository.getReferenceById(reserva.eventoId()));
         notificacion.setTipo(tipo);
         notificacion.setTitulo(titulo);
         notificacion.setMensaje(mensaje);
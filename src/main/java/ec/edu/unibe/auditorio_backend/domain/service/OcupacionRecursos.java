@@ -0,0 +1,111 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.repository.UsoRecurso;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calcula cuántas unidades de cada recurso están en uso al mismo tiempo
+ * dentro de un horario. Dos reservas que usan un recurso en horas distintas
+ * no se suman, aunque ambas se crucen con el horario consultado.
+ *
+ * <p>Cada tipo se resuelve ordenando los inicios y fines de sus usos y
+ * recorriéndolos una vez, en O(n log n).</p>
+ */
+final class OcupacionRecursos {
+
+    private OcupacionRecursos() {
+    }
+
+    /**
+     * Tramo del horario consultado con una cantidad constante en uso.
+     */
+    record Tramo(LocalTime desde, LocalTime hasta, long cantidad) {
+    }
+
+    /**
+     * Uso de un tipo dentro del horario: el pico simultáneo y los tramos en
+     * orden cronológico. Los tramos sin uso se omiten.
+     */
+    record Ocupacion(long pico, List<Tramo> tramos) {
+
+        static final Ocupacion LIBRE = new Ocupacion(0, List.of());
+
+        /**
+         * Primer tramo continuo en el que el uso supera el umbral, o
+         * {@code null} si nunca lo supera.
+         */
+        Tramo primerExcesoSobre(long umbral) {
+            LocalTime desde = null;
+            LocalTime hasta = null;
+            long maximo = 0;
+            for (Tramo tramo : tramos) {
+                if (tramo.cantidad() > umbral && (desde == null || tramo.desde().equals(hasta))) {
+                    desde = desde == null ? tramo.desde() : desde;
+                    hasta = tramo.hasta();
+                    maximo = Math.max(maximo, tramo.cantidad());
+                } else if (desde != null) {
+                    break;
+                }
+            }
+            return desde == null ? null : new Tramo(desde, hasta, maximo);
+        }
+    }
+
+    static Map<Long, Ocupacion> calcular(
+            List<UsoRecurso> usos,
+            LocalTime horaInicio,
+            LocalTime horaFin) {
+        Map<Long, List<UsoRecurso>> porTipo = new HashMap<>();
+        for (UsoRecurso uso : usos) {
+            porTipo.computeIfAbsent(uso.tipoId(), tipo -> new ArrayList<>()).add(uso);
+        }
+
+        Map<Long, Ocupacion> resultado = new HashMap<>();
+        porTipo.forEach((tipoId, delTipo) ->
+                resultado.put(tipoId, barrer(delTipo, horaInicio.toSecondOfDay(), horaFin.toSecondOfDay())));
+        return resultado;
+    }
+
+    private static Ocupacion barrer(List<UsoRecurso> usos, int inicio, int fin) {
+        List<Punto> puntos = new ArrayList<>(usos.size() * 2);
+        for (UsoRecurso uso : usos) {
+            int desde = Math.max(uso.horaInicio().toSecondOfDay(), inicio);
+            int hasta = Math.min(uso.horaFin().toSecondOfDay(), fin);
+            if (desde < hasta) {
+                puntos.add(new Punto(desde, uso.cantidad()));
+                puntos.add(new Punto(hasta, -uso.cantidad()));
+            }
+        }
+        // En un mismo instante los fines van antes que los inicios porque los
+        // horarios son semiabiertos: terminar a las 10:00 libera el recurso
+        // para quien empieza a las 10:00.
+        puntos.sort(Comparator.comparingInt(Punto::instante).thenComparingInt(Punto::variacion));
+
+        List<Tramo> tramos = new ArrayList<>();
+        long enUso = 0;
+        long pico = 0;
+        for (int i = 0; i < puntos.size(); i++) {
+            int instante = puntos.get(i).instante();
+            enUso += puntos.get(i).variacion();
+            boolean ultimoDelInstante = i + 1 == puntos.size() || puntos.get(i + 1).instante() != instante;
+            if (ultimoDelInstante && enUso > 0) {
+                int siguiente = i + 1 == puntos.size() ? fin : puntos.get(i + 1).instante();
+                tramos.add(new Tramo(
+                        LocalTime.ofSecondOfDay(instante),
+                        LocalTime.ofSecondOfDay(siguiente),
+                        enUso));
+                pico = Math.max(pico, enUso);
+            }
+        }
+        return tramos.isEmpty() ? Ocupacion.LIBRE : new Ocupacion(pico, tramos);
+    }
+
+    private record Punto(int instante, int variacion) {
+    }
+}
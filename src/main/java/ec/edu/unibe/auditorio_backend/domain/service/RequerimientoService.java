@@ -7,19 +7,25 @@ import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
 import ec.edu.unibe.auditorio_backend.domain.entity.Requerimiento;
 import ec.edu.unibe.auditorio_backend.domain.entity.TipoRequerimientoEntity;
 import ec.edu.unibe.auditorio_backend.domain.repository.RequerimientoRepository;
+import ec.edu.unibe.auditorio_backend.domain.repository.RequerimientoResumen;
 import ec.edu.unibe.auditorio_backend.domain.repository.TipoRequerimientoRepository;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 
 @Service
 public class RequerimientoService {
 
+    private static final int EVENTOS_POR_CONSULTA = 1000;
+
     private final RequerimientoRepository requerimientoRepository;
     private final TipoRequerimientoRepository tipoRequerimientoRepository;
 
@@ -30,12 +36,33 @@ public class RequerimientoService {
         this.tipoRequerimientoRepository = tipoRequerimientoRepository;
     }
 
+    /**
+     * Requerimientos de varias reservas agrupados por reserva, leídos con una
+     * consulta por cada {@value #EVENTOS_POR_CONSULTA} reservas.
+     */
+    public Map<Long, List<RequerimientoResumen>> resumenesPorEvento(Collection<Long> eventoIds) {
+        Map<Long, List<RequerimientoResumen>> porEvento = new HashMap<>();
+        if (eventoIds.isEmpty()) {
+            return porEvento;
+        }
+        // Por lotes: PostgreSQL admite a lo sumo 32767 parámetros por sentencia.
+        List<Long> ids = List.copyOf(eventoIds);
+        for (int inicio = 0; inicio < ids.size(); inicio += EVENTOS_POR_CONSULTA) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + EVENTOS_POR_CONSULTA, ids.size()));
+            for (RequerimientoResumen requerimiento : requerimientoRepository.listarResumenesDeEventos(lote)) {
+                porEvento.computeIfAbsent(requerimiento.eventoId(), id -> new ArrayList<>()).add(requerimiento);
+            }
+        }
+        return porEvento;
+    }
+
     public void vincularRequerimientos(EventoAuditorio evento, List<Requerimiento> requerimientos) {
         if (requerimientos == null) return;
 
+        Map<Long, TipoRequerimientoEntity> tipos = resolverTipos(
+                requerimientos.stream().map(r -> r.getTipo().getId()).toList());
         requerimientos.forEach(r -> {
-            TipoRequerimientoEntity tipo = resolverTipo(r.getTipo().getId());
-            r.setTipo(tipo);
+            r.setTipo(tipos.get(r.getTipo().getId()));
             r.setEvento(evento);
         });
     }
@@ -55,9 +82,10 @@ public class RequerimientoService {
                 .ifPresent(recurso -> {
                     throw new IllegalArgumentException(
                             "No hay suficiente disponibilidad de " + recurso.nombre()
-                                    + " para el horario seleccionado. Disponibles: "
-                                    + recurso.cantidadDisponible() + ", solicitados: "
-                                    + recurso.cantidadSolicitada() + ".");
+                                    + " entre " + recurso.faltanteDesde()
+                                    + " y " + recurso.faltanteHasta()
+                                    + ". Disponibles: " + recurso.cantidadDisponible()
+                                    + ", solicitados: " + recurso.cantidadSolicitada() + ".");
                 });
     }
 
@@ -104,17 +132,34 @@ public class RequerimientoService {
             LocalTime horaFin,
             Long eventoId) {
         List<RecursoDisponibilidadDTO> resultados = new ArrayList<>();
+        if (cantidades.isEmpty()) {
+            return new DisponibilidadRecursosDTO(true, resultados);
+        }
+
+        // Dos consultas sin importar cuántos tipos se soliciten: los tipos y
+        // los usos de todos ellos que se cruzan con el horario.
+        Map<Long, TipoRequerimientoEntity> tipos = resolverTipos(cantidades.keySet());
+        Map<Long, OcupacionRecursos.Ocupacion> ocupaciones = OcupacionRecursos.calcular(
+                requerimientoRepository.usosEnHorario(
+                        cantidades.keySet(), fecha, horaInicio, horaFin, eventoId),
+                horaInicio,
+                horaFin);
 
         for (Map.Entry<Long, Integer> solicitud : cantidades.entrySet()) {
-            TipoRequerimientoEntity tipo = resolverTipo(solicitud.getKey());
+            TipoRequerimientoEntity tipo = tipos.get(solicitud.getKey());
             int cantidadSolicitada = solicitud.getValue();
             if (cantidadSolicitada < 1) {
                 throw new IllegalArgumentException("La cantidad solicitada debe ser mayor que cero");
             }
 
-            long ocupada = requerimientoRepository.cantidadReservadaEnHorario(
-                    tipo.getId(), fecha, horaInicio, horaFin, eventoId);
+            OcupacionRecursos.Ocupacion ocupacion =
+                    ocupaciones.getOrDefault(tipo.getId(), OcupacionRecursos.Ocupacion.LIBRE);
+            long ocupada = ocupacion.pico();
             long disponible = Math.max(0L, tipo.getCantidadDisponible() - ocupada);
+            // Si se piden más unidades de las que existen, falta en todo el horario.
+            OcupacionRecursos.Tramo faltante = cantidadSolicitada > tipo.getCantidadDisponible()
+                    ? new OcupacionRecursos.Tramo(horaInicio, horaFin, ocupada)
+                    : ocupacion.primerExcesoSobre(tipo.getCantidadDisponible() - cantidadSolicitada);
 
             resultados.add(new RecursoDisponibilidadDTO(
                     tipo.getId(),
@@ -123,7 +168,9 @@ public class RequerimientoService {
                     ocupada,
                     disponible,
                     cantidadSolicitada,
-                    cantidadSolicitada <= disponible));
+                    faltante == null,
+                    faltante == null ? null : faltante.desde(),
+                    faltante == null ? null : faltante.hasta()));
         }
 
         boolean disponible = resultados.stream().allMatch(RecursoDisponibilidadDTO::disponible);
@@ -139,8 +186,10 @@ public class RequerimientoService {
         List<Requerimiento> nuevaLista = new ArrayList<>();
 
         if (requerimientosNuevos != null) {
+            Map<Long, TipoRequerimientoEntity> tipos = resolverTipos(
+                    requerimientosNuevos.stream().map(r -> r.getTipo().getId()).toList());
             for (Requerimiento reqNuevo : requerimientosNuevos) {
-                TipoRequerimientoEntity tipo = resolverTipo(reqNuevo.getTipo().getId());
+                TipoRequerimientoEntity tipo = tipos.get(reqNuevo.getTipo().getId());
 
                 Requerimiento req = new Requerimiento();
                 req.setTipo(tipo);
@@ -154,13 +203,27 @@ public class RequerimientoService {
         evento.setRequerimientos(nuevaLista);
     }
 
-    private TipoRequerimientoEntity resolverTipo(Long tipoId) {
-        TipoRequerimientoEntity tipo = tipoRequerimientoRepository.findById(tipoId)
-                .orElseThrow(() -> new RuntimeException(
-                        "Tipo de requerimiento no encontrado: " + tipoId));
-        if (!tipo.isActivo()) {
-            throw new IllegalArgumentException("El recurso " + tipo.getNombre() + " está inactivo");
+    /**
+     * Carga todos los tipos con una sola consulta y valida, en el orden en
+     * que fueron solicitados, que existan y estén activos.
+     */
+    private Map<Long, TipoRequerimientoEntity> resolverTipos(Collection<Long> tipoIds) {
+        Map<Long, TipoRequerimientoEntity> tipos = new HashMap<>();
+        if (tipoIds.isEmpty()) {
+            return tipos;
+        }
+        tipoRequerimientoRepository.findAllById(new LinkedHashSet<>(tipoIds))
+                .forEach(tipo -> tipos.put(tipo.getId(), tipo));
+
+        for (Long tipoId : tipoIds) {
+            TipoRequerimientoEntity tipo = tipos.get(tipoId);
+            if (tipo == null) {
+                throw new RuntimeException("Tipo de requerimiento no encontrado: " + tipoId);
+            }
+            if (!tipo.isActivo()) {
+                throw new IllegalArgumentException("El recurso " + tipo.getNombre() + " está inactivo");
+            }
         }
-        return tipo;
+        return tipos;
     }
 }
@@ -1,4 +1,18 @@
 package ec.edu.unibe.auditorio_backend.domain.service;
 
-public record ReservaCreadaEvent(Long eventoId) {
+import java.util.List;
+
+/**
+ * {@code administradores} son los administradores activos al crear la
+ * reserva, destinatarios de su aviso.
+ */
+public record ReservaCreadaEvent(ReservaInstantanea reserva, List<DestinatarioReserva> administradores) {
+
+    public ReservaCreadaEvent {
+        administradores = List.copyOf(administradores);
+    }
+
+    public Long eventoId() {
+        return reserva.eventoId();
+    }
 }
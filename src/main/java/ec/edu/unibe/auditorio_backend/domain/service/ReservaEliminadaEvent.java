@@ -0,0 +1,4 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+public record ReservaEliminadaEvent(Long eventoId) {
+}
@@ -1,4 +1,8 @@
 package ec.edu.unibe.auditorio_backend.domain.service;
 
-public record ReservaEstadoCambiadoEvent(Long eventoId) {
+public record ReservaEstadoCambiadoEvent(ReservaInstantanea reserva) {
+
+    public Long eventoId() {
+        return reserva.eventoId();
+    }
 }
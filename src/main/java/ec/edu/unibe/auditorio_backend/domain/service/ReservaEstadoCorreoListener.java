@@ -7,19 +7,15 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Component
 public class ReservaEstadoCorreoListener {
 
-    private final EventoAuditorioService eventoService;
     private final CorreoReservaService correoReservaService;
 
-    public ReservaEstadoCorreoListener(
-            EventoAuditorioService eventoService,
-            CorreoReservaService correoReservaService) {
-        this.eventoService = eventoService;
+    public ReservaEstadoCorreoListener(CorreoReservaService correoReservaService) {
         this.correoReservaService = correoReservaService;
     }
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    // Antes de confirmar, para que el correo se guarde junto con la reserva.
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void alCambiarEstado(ReservaEstadoCambiadoEvent event) {
-        var evento = eventoService.obtenerEventoPorId(event.eventoId());
-        correoReservaService.enviarCambioEstado(evento);
+        correoReservaService.encolarCambioEstado(event.reserva());
     }
 }
@@ -0,0 +1,39 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
+import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Copia inmutable de los datos de una reserva que usan las notificaciones y
+ * los correos. Se toma al publicar el evento de dominio, así los listeners
+ * no vuelven a cargar la reserva.
+ */
+public record ReservaInstantanea(
+        Long eventoId,
+        String nombreEvento,
+        LocalDate fechaEvento,
+        LocalTime horaInicio,
+        LocalTime horaFin,
+        int numeroAsistentes,
+        EstadoEvento estado,
+        String motivoRechazo,
+        DestinatarioReserva solicitante) {
+
+    public static ReservaInstantanea de(EventoAuditorio evento) {
+        return new ReservaInstantanea(
+                evento.getId(),
+                evento.getNombreEvento(),
+                evento.getFechaEvento(),
+                evento.getHoraInicio(),
+                evento.getHoraFin(),
+                evento.getNumeroAsistentes(),
+                evento.getEstado(),
+                evento.getMotivoRechazo(),
+                evento.getUsuarioSolicitante() != null
+                        ? DestinatarioReserva.de(evento.getUsuarioSolicitante())
+                        : null);
+    }
+}
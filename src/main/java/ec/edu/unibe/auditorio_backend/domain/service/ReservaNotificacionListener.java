@@ -1,6 +1,5 @@
 package ec.edu.unibe.auditorio_backend.domain.service;
 
-import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
@@ -8,25 +7,19 @@ import org.springframework.transaction.event.TransactionalEventListener;
 @Component
 public class ReservaNotificacionListener {
 
-    private final EventoAuditorioService eventoService;
     private final NotificacionService notificacionService;
 
-    public ReservaNotificacionListener(
-            EventoAuditorioService eventoService,
-            NotificacionService notificacionService) {
-        this.eventoService = eventoService;
+    public ReservaNotificacionListener(NotificacionService notificacionService) {
         this.notificacionService = notificacionService;
     }
 
     @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void alCrearReserva(ReservaCreadaEvent event) {
-        EventoAuditorio evento = eventoService.obtenerEventoPorId(event.eventoId());
-        notificacionService.notificarNuevaReservaAAdministradores(evento);
+        notificacionService.notificarNuevaReservaAAdministradores(event.reserva(), event.administradores());
     }
 
     @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void alCambiarEstado(ReservaEstadoCambiadoEvent event) {
-        EventoAuditorio evento = eventoService.obtenerEventoPorId(event.eventoId());
-        notificacionService.notificarCambioEstadoAlSolicitante(evento);
+        notificacionService.notificarCambioEstadoAlSolicitante(event.reserva());
     }
 }
@@ -0,0 +1,88 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.TicketTiempoReal;
+import ec.edu.unibe.auditorio_backend.domain.repository.TicketTiempoRealRepository;
+import ec.edu.unibe.auditorio_backend.infrastructure.scheduling.SoloNodoLider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Emite y canjea los tickets con que se abre el canal en tiempo real. Un
+ * ticket vale pocos segundos y una sola vez, así lo que quede en los
+ * registros de acceso o en el historial no sirve para autenticarse. Se
+ * guardan en la base de datos para canjearse en cualquier instancia.
+ */
+@Service
+public class TicketTiempoRealService {
+
+    private static final ZoneId ZONA_ECUADOR = ZoneId.of("America/Guayaquil");
+    private static final int BYTES_TICKET = 32;
+
+    private final TicketTiempoRealRepository ticketRepository;
+    private final long segundosValidez;
+    private final SecureRandom aleatorio = new SecureRandom();
+
+    public TicketTiempoRealService(
+            TicketTiempoRealRepository ticketRepository,
+            @Value("${app.tiempo-real.ticket.segundos-validez:30}") long segundosValidez) {
+        this.ticketRepository = ticketRepository;
+        this.segundosValidez = segundosValidez;
+    }
+
+    public long getSegundosValidez() {
+        return segundosValidez;
+    }
+
+    @Transactional
+    public String emitir(String username, Collection<String> autoridades) {
+        byte[] bytes = new byte[BYTES_TICKET];
+        aleatorio.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        ticketRepository.save(new TicketTiempoReal(
+                hash(ticket),
+                username,
+                String.join(",", autoridades),
+                LocalDateTime.now(ZONA_ECUADOR).plusSeconds(segundosValidez)));
+        return ticket;
+    }
+
+    /**
+     * Devuelve el ticket si existe y no venció, y lo elimina para que no
+     * vuelva a usarse.
+     */
+    @Transactional
+    public Optional<TicketTiempoReal> canjear(String ticket) {
+        return ticketRepository.findByCodigoHash(hash(ticket))
+                .filter(encontrado -> ticketRepository.consumir(encontrado.getId()) == 1)
+                .filter(encontrado -> encontrado.getVenceEn().isAfter(LocalDateTime.now(ZONA_ECUADOR)));
+    }
+
+    @Scheduled(fixedDelayString = "${app.tiempo-real.ticket.intervalo-limpieza-ms:600000}")
+    @SoloNodoLider
+    @Transactional
+    public void eliminarVencidos() {
+        ticketRepository.eliminarVencidos(LocalDateTime.now(ZONA_ECUADOR));
+    }
+
+    private String hash(String ticket) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(ticket.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.application.dto.CambioReservaDTO;
+import ec.edu.unibe.auditorio_backend.infrastructure.tiemporeal.CanalTiempoReal;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Avisa por el canal en tiempo real que una reserva cambió, una vez
+ * confirmado el cambio. Solo se envía el id: cada cliente decide si vuelve a
+ * pedir el calendario, que se sirve desde {@link CacheCalendario}.
+ */
+@Component
+public class TiempoRealListener {
+
+    private static final String EVENTO_RESERVA = "reserva";
+
+    private final CanalTiempoReal canalTiempoReal;
+
+    public TiempoRealListener(CanalTiempoReal canalTiempoReal) {
+        this.canalTiempoReal = canalTiempoReal;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCrearReserva(ReservaCreadaEvent event) {
+        canalTiempoReal.difundir(EVENTO_RESERVA, new CambioReservaDTO(event.eventoId(), "CREADA"));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alCambiarEstado(ReservaEstadoCambiadoEvent event) {
+        canalTiempoReal.difundir(EVENTO_RESERVA, new CambioReservaDTO(event.eventoId(), "ESTADO"));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alModificarReserva(ReservaModificadaEvent event) {
+        canalTiempoReal.difundir(EVENTO_RESERVA, new CambioReservaDTO(event.eventoId(), "MODIFICADA"));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void alEliminarReserva(ReservaEliminadaEvent event) {
+        canalTiempoReal.difundir(EVENTO_RESERVA, new CambioReservaDTO(event.eventoId(), "ELIMINADA"));
+    }
+}
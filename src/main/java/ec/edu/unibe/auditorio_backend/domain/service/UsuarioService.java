@@ -22,12 +22,24 @@ import java.util.ArrayList;
 @Service
 public class UsuarioService {
 
+    private static final Sort ORDEN_LISTADO =
+            Sort.by(Sort.Order.asc("apellido"), Sort.Order.asc("nombre"), Sort.Order.asc("id"));
+    private static final List<String> COLUMNAS_CURSOR = List.of("apellido", "nombre", "id");
+
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
+    private final BusquedaEventosService busquedaEventos;
+    private final ContadorNoLeidas contadorNoLeidas;
 
-    public UsuarioService(UsuarioRepository usuarioRepository, PasswordEncoder passwordEncoder) {
+    public UsuarioService(
+            UsuarioRepository usuarioRepository,
+            PasswordEncoder passwordEncoder,
+            BusquedaEventosService busquedaEventos,
+            ContadorNoLeidas contadorNoLeidas) {
         this.usuarioRepository = usuarioRepository;
         this.passwordEncoder = passwordEncoder;
+        this.busquedaEventos = busquedaEventos;
+        this.contadorNoLeidas = contadorNoLeidas;
     }
 
     @Transactional(readOnly = true)
@@ -46,12 +58,62 @@ public class UsuarioService {
     public Page<UsuarioDTO> listarPaginado(String buscar, int pagina, int tamanio) {
         int paginaSegura = Math.max(pagina, 0);
         int tamanioSeguro = Math.min(Math.max(tamanio, 1), 100);
-        PageRequest pageRequest = PageRequest.of(
-                paginaSegura,
+        PageRequest pageRequest = PageRequest.of(paginaSegura, tamanioSeguro, ORDEN_LISTADO);
+
+        return usuarioRepository.findAll(filtrosDeBusqueda(buscar), pageRequest).map(this::aDTO);
+    }
+
+    /**
+     * Variante por cursor del listado paginado. Continúa desde el último
+     * usuario entregado usando el índice (apellido, nombre, id); el total
+     * solo se cuenta si se solicita.
+     */
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<UsuarioDTO> listarPorCursor(
+            String buscar,
+            String cursor,
+            int tamanio,
+            boolean incluirTotal) {
+        int tamanioSeguro = Math.min(Math.max(tamanio, 1), 100);
+        CursorPagina posicion = CursorPagina.leer(cursor, COLUMNAS_CURSOR.size());
+        Specification<Usuario> filtros = filtrosDeBusqueda(buscar);
+
+        Specification<Usuario> consulta = filtros;
+        Sort orden = ORDEN_LISTADO;
+        if (posicion != null) {
+            consulta = filtros.and(posicion.condicion(COLUMNAS_CURSOR, clavesDeCursor(posicion), false));
+            orden = posicion.haciaAtras() ? ORDEN_LISTADO.reverse() : ORDEN_LISTADO;
+        }
+
+        Sort ordenConsulta = orden;
+        List<UsuarioDTO> filas = usuarioRepository.findBy(consulta, query -> query
+                        .sortBy(ordenConsulta)
+                        .limit(tamanioSeguro + 1)
+                        .all())
+                .stream()
+                .map(this::aDTO)
+                .toList();
+        return CursorPagina.armar(
+                filas,
+                posicion,
                 tamanioSeguro,
-                Sort.by(Sort.Order.asc("apellido"), Sort.Order.asc("nombre")));
+                usuario -> List.of(usuario.apellido(), usuario.nombre(), usuario.id().toString()),
+                incluirTotal ? usuarioRepository.count(filtros) : null);
+    }
+
+    private List<? extends Comparable<?>> clavesDeCursor(CursorPagina posicion) {
+        try {
+            return List.of(
+                    posicion.valores().get(0),
+                    posicion.valores().get(1),
+                    Long.valueOf(posicion.valores().get(2)));
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("El cursor de paginación no es válido");
+        }
+    }
 
-        Specification<Usuario> filtros = (root, query, cb) -> {
+    private Specification<Usuario> filtrosDeBusqueda(String buscar) {
+        return (root, query, cb) -> {
             if (buscar == null || buscar.isBlank()) return cb.conjunction();
             String patron = "%" + buscar.trim().toLowerCase(Locale.ROOT) + "%";
             List<Predicate> coincidencias = new ArrayList<>();
@@ -62,8 +124,6 @@ public class UsuarioService {
             coincidencias.add(cb.like(cb.lower(root.get("telefono")), patron));
             return cb.or(coincidencias.toArray(Predicate[]::new));
         };
-
-        return usuarioRepository.findAll(filtros, pageRequest).map(this::aDTO);
     }
 
     @Transactional(readOnly = true)
@@ -93,6 +153,12 @@ public class UsuarioService {
 
         validarQuePermanezcaUnAdministrador(usuario, datos.role(), datos.activo());
 
+        boolean cambiaNombre = !usuario.getNombre().equals(datos.nombre().trim())
+                || !usuario.getApellido().equals(datos.apellido().trim());
+
+        if (!usuario.getUsername().equals(datos.username())) {
+            contadorNoLeidas.olvidar(usuario.getUsername());
+        }
         usuario.setUsername(datos.username());
         usuario.setNombre(datos.nombre().trim());
         usuario.setApellido(datos.apellido().trim());
@@ -101,7 +167,11 @@ public class UsuarioService {
         usuario.setRole(datos.role());
         usuario.setActivo(datos.activo());
 
-        return aDTO(usuarioRepository.save(usuario));
+        Usuario guardado = usuarioRepository.save(usuario);
+        if (cambiaNombre) {
+            busquedaEventos.actualizarDeSolicitante(guardado.getId());
+        }
+        return aDTO(guardado);
     }
 
     @Transactional
@@ -0,0 +1,58 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.config;
+
+import ec.edu.unibe.auditorio_backend.domain.service.BusquedaEventosService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Crea los índices GIN de {@code eventos_busqueda} y genera los documentos de
+ * las reservas que aún no lo tienen. Sin {@code pg_trgm} la búsqueda sigue
+ * funcionando, pero la coincidencia por fragmentos recorre la tabla de
+ * documentos.
+ */
+@Component
+@Order(3)
+public class BusquedaEventosInitializer implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BusquedaEventosInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BusquedaEventosService busquedaEventos;
+
+    public BusquedaEventosInitializer(JdbcTemplate jdbcTemplate, BusquedaEventosService busquedaEventos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.busquedaEventos = busquedaEventos;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        jdbcTemplate.execute("""
+                CREATE INDEX IF NOT EXISTS idx_busqueda_texto_completo
+                ON eventos_busqueda USING gin (to_tsvector('simple', texto))
+                """);
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            jdbcTemplate.execute("""
+                    CREATE INDEX IF NOT EXISTS idx_busqueda_texto_trigramas
+                    ON eventos_busqueda USING gin (texto gin_trgm_ops)
+                    """);
+            jdbcTemplate.execute("""
+                    CREATE INDEX IF NOT EXISTS idx_busqueda_solicitante_trigramas
+                    ON eventos_busqueda USING gin (texto_solicitante gin_trgm_ops)
+                    """);
+        } catch (DataAccessException ex) {
+            LOGGER.warn("No se pudieron crear los índices de trigramas de búsqueda", ex);
+        }
+
+        int indexados = busquedaEventos.indexarFaltantes();
+        if (indexados > 0) {
+            LOGGER.info("Documentos de búsqueda creados para {} reservas", indexados);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Funciones de búsqueda para las consultas por criterios. Se escriben como
+ * operadores de PostgreSQL, con la misma expresión que el índice GIN de
+ * {@code eventos_busqueda}, para que el planificador pueda usarlo.
+ */
+public class BusquedaFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry tipos = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().registerPattern(
+                "coincide_texto",
+                "(to_tsvector('simple', ?1) @@ plainto_tsquery('simple', ?2))",
+                tipos.resolve(StandardBasicTypes.BOOLEAN));
+        functionContributions.getFunctionRegistry().registerPattern(
+                "relevancia_texto",
+                "ts_rank(to_tsvector('simple', ?1), plainto_tsquery('simple', ?2))",
+                tipos.resolve(StandardBasicTypes.DOUBLE));
+    }
+}
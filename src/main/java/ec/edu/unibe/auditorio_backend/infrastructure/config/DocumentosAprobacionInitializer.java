@@ -0,0 +1,122 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.config;
+
+import ec.edu.unibe.auditorio_backend.domain.service.AlmacenDocumentos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copia al {@link AlmacenDocumentos} los documentos de aprobación que
+ * versiones anteriores guardaban en la columna
+ * {@code documento_aprobacion_contenido}. Cada reserva se copia en su propia
+ * transacción y solo recibe el hash, así un arranque interrumpido retoma
+ * donde quedó.
+ *
+ * <p>La copia no vacía la columna antigua: si el almacén se pierde, el
+ * siguiente arranque no tiene de dónde recuperar los documentos. Vaciarla es
+ * un paso aparte, con {@code app.documentos.limpiar-columna-antigua=true},
+ * que solo borra el contenido de las reservas cuyo archivo en el almacén
+ * existe y coincide con su hash. Después la columna puede eliminarse.</p>
+ */
+@Component
+public class DocumentosAprobacionInitializer implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DocumentosAprobacionInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AlmacenDocumentos almacenDocumentos;
+    private final boolean limpiarColumnaAntigua;
+
+    public DocumentosAprobacionInitializer(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            AlmacenDocumentos almacenDocumentos,
+            @Value("${app.documentos.limpiar-columna-antigua:false}") boolean limpiarColumnaAntigua) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.almacenDocumentos = almacenDocumentos;
+        this.limpiarColumnaAntigua = limpiarColumnaAntigua;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Boolean columnaAntigua = jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM information_schema.columns
+                    WHERE table_name = 'eventos_auditorio'
+                      AND column_name = 'documento_aprobacion_contenido')
+                """, Boolean.class);
+        if (!Boolean.TRUE.equals(columnaAntigua)) {
+            return;
+        }
+
+        // Una reserva sin nombre de documento lo eliminó después de la
+        // migración; su contenido antiguo no debe volver.
+        List<Long> pendientes = jdbcTemplate.queryForList("""
+                SELECT id FROM eventos_auditorio
+                WHERE documento_aprobacion_contenido IS NOT NULL
+                  AND documento_aprobacion_hash IS NULL
+                  AND documento_aprobacion_nombre IS NOT NULL
+                """, Long.class);
+        pendientes.forEach(id -> transactionTemplate.executeWithoutResult(estado -> trasladar(id)));
+        if (!pendientes.isEmpty()) {
+            LOGGER.info("Documentos de aprobación copiados al almacén: {}", pendientes.size());
+        }
+
+        if (limpiarColumnaAntigua) {
+            limpiarVerificados();
+        }
+    }
+
+    private void limpiarVerificados() {
+        List<Map<String, Object>> copiados = jdbcTemplate.queryForList("""
+                SELECT id, documento_aprobacion_hash AS hash FROM eventos_auditorio
+                WHERE documento_aprobacion_contenido IS NOT NULL
+                  AND documento_aprobacion_hash IS NOT NULL
+                """);
+        int limpiados = 0;
+        for (Map<String, Object> copiado : copiados) {
+            String hash = (String) copiado.get("hash");
+            if (!almacenDocumentos.estaIntacto(hash)) {
+                LOGGER.warn("El documento {} no está intacto en el almacén; se conserva la columna antigua", hash);
+                continue;
+            }
+            limpiados += jdbcTemplate.update("""
+                    UPDATE eventos_auditorio SET documento_aprobacion_contenido = NULL
+                    WHERE id = ? AND documento_aprobacion_hash = ?
+                    """, copiado.get("id"), hash);
+        }
+        LOGGER.info("Contenido antiguo vaciado en {} de {} reservas", limpiados, copiados.size());
+    }
+
+    private void trasladar(Long eventoId) {
+        String hash = jdbcTemplate.query(
+                "SELECT documento_aprobacion_contenido FROM eventos_auditorio WHERE id = ?",
+                resultado -> {
+                    if (!resultado.next()) {
+                        return null;
+                    }
+                    try (InputStream contenido = resultado.getBinaryStream(1)) {
+                        return contenido == null ? null : almacenDocumentos.guardar(contenido);
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                },
+                eventoId);
+        jdbcTemplate.update(
+                "UPDATE eventos_auditorio SET documento_aprobacion_hash = ? WHERE id = ?",
+                hash, eventoId);
+    }
+}
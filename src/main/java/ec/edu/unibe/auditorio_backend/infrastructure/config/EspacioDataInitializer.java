@@ -6,12 +6,14 @@ import ec.edu.unibe.auditorio_backend.domain.repository.EventoAuditorioRepositor
 import ec.edu.unibe.auditorio_backend.domain.service.EspacioService;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Component
+@Order(1)
 public class EspacioDataInitializer implements ApplicationRunner {
 
     private final EspacioRepository espacioRepository;
@@ -0,0 +1,69 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.config;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.Espacio;
+import ec.edu.unibe.auditorio_backend.domain.repository.EspacioRepository;
+import ec.edu.unibe.auditorio_backend.domain.repository.EventoAuditorioRepository;
+import ec.edu.unibe.auditorio_backend.domain.service.IndiceOcupacionEspacios;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Carga el índice de ocupación después de registrar los espacios, para que
+ * las reservas antiguas ya tengan su espacio asignado.
+ *
+ * <p>Además lo recarga completo cada cierto tiempo. Los cambios de otras
+ * instancias llegan por el relevo, pero uno perdido mientras la escucha se
+ * reconectaba, o con el relevo deshabilitado, solo dura hasta la siguiente
+ * recarga; también se recogen los espacios activados o desactivados.</p>
+ */
+@Component
+@Order(2)
+public class IndiceOcupacionInitializer implements ApplicationRunner {
+
+    private static final ZoneId ZONA_ECUADOR = ZoneId.of("America/Guayaquil");
+
+    private final EspacioRepository espacioRepository;
+    private final EventoAuditorioRepository eventoRepository;
+    private final IndiceOcupacionEspacios indiceOcupacion;
+
+    public IndiceOcupacionInitializer(
+            EspacioRepository espacioRepository,
+            EventoAuditorioRepository eventoRepository,
+            IndiceOcupacionEspacios indiceOcupacion) {
+        this.espacioRepository = espacioRepository;
+        this.eventoRepository = eventoRepository;
+        this.indiceOcupacion = indiceOcupacion;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        cargar();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.disponibilidad.indice.recarga-ms:300000}",
+            fixedDelayString = "${app.disponibilidad.indice.recarga-ms:300000}")
+    @Transactional(readOnly = true)
+    public void recargar() {
+        cargar();
+    }
+
+    private void cargar() {
+        LocalDate desde = LocalDate.now(ZONA_ECUADOR);
+        indiceOcupacion.iniciarCarga();
+        indiceOcupacion.cargar(
+                desde,
+                espacioRepository.findByActivoTrueOrderByNombreAsc().stream()
+                        .map(Espacio::getId)
+                        .toList(),
+                eventoRepository.listarOcupacionesDesde(desde));
+    }
+}
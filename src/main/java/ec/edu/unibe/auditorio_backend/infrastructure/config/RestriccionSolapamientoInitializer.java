@@ -0,0 +1,74 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.config;
+
+import ec.edu.unibe.auditorio_backend.domain.service.DisponibilidadService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuando se habilita {@code app.reservas.restriccion-solapamiento}, crea una
+ * restricción de exclusión que impide a PostgreSQL guardar dos reservas
+ * PENDIENTES o APROBADAS del mismo espacio a menos de una hora entre sí.
+ *
+ * <p>Cada rango se extiende una hora después de su fin, así dos reservas se
+ * solapan exactamente cuando las separa menos que la preparación. Si la
+ * restricción no puede crearse (por ejemplo, hay datos antiguos que se
+ * solapan o falta permiso para {@code btree_gist}) se mantiene el bloqueo
+ * por espacio.</p>
+ */
+@Component
+public class RestriccionSolapamientoInitializer implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RestriccionSolapamientoInitializer.class);
+    private static final String NOMBRE_RESTRICCION = "eventos_auditorio_sin_solapamiento";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DisponibilidadService disponibilidadService;
+    private final boolean habilitada;
+
+    public RestriccionSolapamientoInitializer(
+            JdbcTemplate jdbcTemplate,
+            DisponibilidadService disponibilidadService,
+            @Value("${app.reservas.restriccion-solapamiento:false}") boolean habilitada) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.disponibilidadService = disponibilidadService;
+        this.habilitada = habilitada;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!habilitada) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            Boolean existe = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ?)",
+                    Boolean.class,
+                    NOMBRE_RESTRICCION);
+            if (!Boolean.TRUE.equals(existe)) {
+                jdbcTemplate.execute("""
+                        ALTER TABLE eventos_auditorio
+                        ADD CONSTRAINT %s
+                        EXCLUDE USING gist (
+                            espacio_id WITH =,
+                            tsrange(
+                                fecha_evento + hora_inicio,
+                                fecha_evento + hora_fin + interval '%d minutes') WITH &&)
+                        WHERE (estado IN ('PENDIENTE', 'APROBADO'))
+                        """.formatted(NOMBRE_RESTRICCION, DisponibilidadService.MINUTOS_PREPARACION));
+            }
+            disponibilidadService.activarRestriccionSolapamiento();
+            LOGGER.info("Reservas protegidas por la restricción {}", NOMBRE_RESTRICCION);
+        } catch (DataAccessException ex) {
+            LOGGER.error("No se pudo crear la restricción {}. Se mantiene el bloqueo por espacio",
+                    NOMBRE_RESTRICCION, ex);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Interruptor de circuito para el proveedor de correo. Tras
+ * {@code fallosParaAbrir} fallos seguidos se abre y rechaza los envíos
+ * durante {@code tiempoAbierto}; luego deja pasar una sola prueba, que lo
+ * cierra si tiene éxito o lo vuelve a abrir si falla.
+ */
+class CircuitoProveedor {
+
+    enum Estado { CERRADO, ABIERTO, SEMIABIERTO }
+
+    private final int fallosParaAbrir;
+    private final long tiempoAbiertoNanos;
+    private final LongSupplier reloj;
+    private Estado estado = Estado.CERRADO;
+    private int fallosSeguidos;
+    private long abiertoHasta;
+
+    CircuitoProveedor(int fallosParaAbrir, Duration tiempoAbierto) {
+        this(fallosParaAbrir, tiempoAbierto, System::nanoTime);
+    }
+
+    /** {@code reloj} da el tiempo en nanosegundos, como {@link System#nanoTime()}. */
+    CircuitoProveedor(int fallosParaAbrir, Duration tiempoAbierto, LongSupplier reloj) {
+        this.fallosParaAbrir = fallosParaAbrir;
+        this.tiempoAbiertoNanos = tiempoAbierto.toNanos();
+        this.reloj = reloj;
+    }
+
+    /**
+     * Indica si puede intentarse un envío. Al vencer el tiempo abierto, solo
+     * el primero en preguntar obtiene la prueba.
+     */
+    synchronized boolean permitir() {
+        return switch (estado) {
+            case CERRADO -> true;
+            case SEMIABIERTO -> false;
+            case ABIERTO -> {
+                if (reloj.getAsLong() - abiertoHasta < 0) {
+                    yield false;
+                }
+                estado = Estado.SEMIABIERTO;
+                yield true;
+            }
+        };
+    }
+
+    /** Como {@link #permitir()}, pero sin reservar la prueba. */
+    synchronized boolean admiteEnvios() {
+        return estado == Estado.CERRADO
+                || estado == Estado.ABIERTO && reloj.getAsLong() - abiertoHasta >= 0;
+    }
+
+    synchronized void registrarExito() {
+        estado = Estado.CERRADO;
+        fallosSeguidos = 0;
+    }
+
+    synchronized void registrarFallo() {
+        fallosSeguidos++;
+        if (estado == Estado.SEMIABIERTO || fallosSeguidos >= fallosParaAbrir) {
+            estado = Estado.ABIERTO;
+            abiertoHasta = reloj.getAsLong() + tiempoAbiertoNanos;
+        }
+    }
+
+    synchronized Estado estado() {
+        return estado;
+    }
+
+    /** Tiempo que falta para la próxima prueba; cero si el circuito no está abierto. */
+    synchronized Duration restante() {
+        if (estado != Estado.ABIERTO) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, abiertoHasta - reloj.getAsLong()));
+    }
+}
@@ -0,0 +1,165 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Entrega a la API transaccional de Brevo un mensaje ya armado. Los errores
+ * se propagan para que quien envía decida si reintentar.
+ *
+ * <p>Usa un único cliente HTTP/1.1 que reutiliza sus conexiones, con tiempos
+ * máximos de conexión y de respuesta. Antes de cada envío toma una ficha del
+ * limitador de tasa y consulta el circuito: mientras Brevo falla seguido, los
+ * envíos se rechazan con {@link EnvioNoDisponibleException} sin llamar a la
+ * API. Los errores de red, 5xx y 429 cuentan como fallos del proveedor; el
+ * resto de 4xx no, porque el proveedor respondió.</p>
+ *
+ * <p>El limitador y el circuito son de esta instancia; quien envía debe ser
+ * una sola instancia a la vez para que {@code solicitudes-por-segundo} sea
+ * el límite real frente a Brevo.</p>
+ */
+@Component
+public class ClienteBrevo {
+
+    private final RestClient clienteBrevo;
+    private final String apiKey;
+    private final LimitadorTasa limitador;
+    private final Duration esperaMaximaCupo;
+    private final CircuitoProveedor circuito;
+
+    private final LongAdder enviados = new LongAdder();
+    private final LongAdder rechazados = new LongAdder();
+    private final LongAdder fallidos = new LongAdder();
+    private final LongAdder cortadosPorCircuito = new LongAdder();
+    private final LongAdder limitadosPorTasa = new LongAdder();
+    private final LongAdder nanosRespuesta = new LongAdder();
+    private final AtomicLong maximoNanosRespuesta = new AtomicLong();
+
+    public ClienteBrevo(
+            RestClient.Builder restClientBuilder,
+            @Value("${app.mail.api-url:https://api.brevo.com/v3}") String apiUrl,
+            @Value("${app.mail.api-key:}") String apiKey,
+            @Value("${app.mail.brevo.tiempo-conexion-ms:3000}") long tiempoConexionMs,
+            @Value("${app.mail.brevo.tiempo-respuesta-ms:10000}") long tiempoRespuestaMs,
+            @Value("${app.mail.brevo.solicitudes-por-segundo:10}") double solicitudesPorSegundo,
+            @Value("${app.mail.brevo.espera-maxima-cupo-ms:5000}") long esperaMaximaCupoMs,
+            @Value("${app.mail.brevo.fallos-para-abrir:5}") int fallosParaAbrir,
+            @Value("${app.mail.brevo.segundos-abierto:30}") long segundosAbierto) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(tiempoConexionMs))
+                .build();
+        JdkClientHttpRequestFactory fabrica = new JdkClientHttpRequestFactory(httpClient);
+        fabrica.setReadTimeout(Duration.ofMillis(tiempoRespuestaMs));
+
+        this.clienteBrevo = restClientBuilder.clone()
+                .baseUrl(apiUrl)
+                .requestFactory(fabrica)
+                .build();
+        this.apiKey = apiKey;
+        // La capacidad de la cubeta admite como ráfaga un segundo de cupo.
+        this.limitador = new LimitadorTasa(
+                solicitudesPorSegundo, (int) Math.max(1, Math.ceil(solicitudesPorSegundo)));
+        this.esperaMaximaCupo = Duration.ofMillis(esperaMaximaCupoMs);
+        this.circuito = new CircuitoProveedor(fallosParaAbrir, Duration.ofSeconds(segundosAbierto));
+    }
+
+    public boolean estaConfigurado() {
+        return !apiKey.isBlank();
+    }
+
+    /** Indica si el circuito admitiría ahora un envío, sin reservar la prueba. */
+    public boolean estaDisponible() {
+        return circuito.admiteEnvios();
+    }
+
+    public void enviar(String mensajeJson) throws RestClientException {
+        tomarCupo();
+        if (!circuito.permitir()) {
+            cortadosPorCircuito.increment();
+            throw new EnvioNoDisponibleException(
+                    "Brevo no está disponible; el circuito está abierto", circuito.restante());
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            clienteBrevo.post()
+                    .uri("/smtp/email")
+                    .header("api-key", apiKey)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(mensajeJson)
+                    .retrieve()
+                    .toBodilessEntity();
+            circuito.registrarExito();
+            enviados.increment();
+        } catch (RestClientResponseException exception) {
+            if (esFalloDelProveedor(exception)) {
+                circuito.registrarFallo();
+                fallidos.increment();
+            } else {
+                circuito.registrarExito();
+                rechazados.increment();
+            }
+            throw exception;
+        } catch (RestClientException exception) {
+            circuito.registrarFallo();
+            fallidos.increment();
+            throw exception;
+        } finally {
+            long duracion = System.nanoTime() - inicio;
+            nanosRespuesta.add(duracion);
+            maximoNanosRespuesta.accumulateAndGet(duracion, Math::max);
+        }
+    }
+
+    public MetricasClienteBrevo metricas() {
+        long respuestas = enviados.sum() + rechazados.sum() + fallidos.sum();
+        return new MetricasClienteBrevo(
+                circuito.estado().name(),
+                enviados.sum(),
+                rechazados.sum(),
+                fallidos.sum(),
+                cortadosPorCircuito.sum(),
+                limitadosPorTasa.sum(),
+                respuestas == 0 ? 0 : nanosRespuesta.sum() / respuestas / 1_000_000d,
+                maximoNanosRespuesta.get() / 1_000_000d);
+    }
+
+    private void tomarCupo() {
+        try {
+            if (!limitador.adquirir(esperaMaximaCupo)) {
+                limitadosPorTasa.increment();
+                throw new EnvioNoDisponibleException("Se agotó el cupo de solicitudes a Brevo", esperaMaximaCupo);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new EnvioNoDisponibleException("Envío interrumpido", Duration.ZERO);
+        }
+    }
+
+    private boolean esFalloDelProveedor(RestClientResponseException exception) {
+        return exception.getStatusCode().is5xxServerError() || exception.getStatusCode().value() == 429;
+    }
+
+    /** Contadores acumulados desde el arranque; los tiempos están en milisegundos. */
+    public record MetricasClienteBrevo(
+            String circuito,
+            long enviados,
+            long rechazados,
+            long fallidos,
+            long cortadosPorCircuito,
+            long limitadosPorTasa,
+            double tiempoPromedioMs,
+            double tiempoMaximoMs) {
+    }
+}
@@ -0,0 +1,23 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+
+/**
+ * El envío no se intentó porque el circuito está abierto o se agotó el cupo
+ * de solicitudes. No cuenta como intento fallido del correo.
+ */
+public class EnvioNoDisponibleException extends RestClientException {
+
+    private final Duration reintentarEn;
+
+    public EnvioNoDisponibleException(String mensaje, Duration reintentarEn) {
+        super(mensaje);
+        this.reintentarEn = reintentarEn;
+    }
+
+    public Duration getReintentarEn() {
+        return reintentarEn;
+    }
+}
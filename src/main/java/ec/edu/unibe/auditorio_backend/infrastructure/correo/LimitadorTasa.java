@@ -0,0 +1,67 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Cubeta de fichas: admite ráfagas de hasta {@code capacidad} solicitudes y
+ * luego una cada {@code 1 / porSegundo} segundos. Quien pide una ficha
+ * cuando no hay la reserva por adelantado y espera su turno, salvo que la
+ * espera supere el máximo indicado.
+ */
+class LimitadorTasa {
+
+    private final double capacidad;
+    private final double nanosPorFicha;
+    private final LongSupplier reloj;
+    private double disponibles;
+    private long repuestoEn;
+
+    LimitadorTasa(double porSegundo, int capacidad) {
+        this(porSegundo, capacidad, System::nanoTime);
+    }
+
+    /** {@code reloj} da el tiempo en nanosegundos, como {@link System#nanoTime()}. */
+    LimitadorTasa(double porSegundo, int capacidad, LongSupplier reloj) {
+        if (porSegundo <= 0 || capacidad < 1) {
+            throw new IllegalArgumentException("La tasa y la capacidad deben ser positivas");
+        }
+        this.capacidad = capacidad;
+        this.nanosPorFicha = 1_000_000_000d / porSegundo;
+        this.reloj = reloj;
+        this.disponibles = capacidad;
+        this.repuestoEn = reloj.getAsLong();
+    }
+
+    /**
+     * Toma una ficha, esperando si hace falta. Devuelve {@code false} sin
+     * consumir nada si habría que esperar más de {@code esperaMaxima}.
+     */
+    boolean adquirir(Duration esperaMaxima) throws InterruptedException {
+        long espera = reservar(esperaMaxima.toNanos());
+        if (espera < 0) {
+            return false;
+        }
+        if (espera > 0) {
+            Thread.sleep(espera / 1_000_000, (int) (espera % 1_000_000));
+        }
+        return true;
+    }
+
+    /**
+     * Descuenta una ficha y devuelve cuántos nanosegundos esperar por ella, o
+     * {@code -1} sin descontar nada si la espera superaría el máximo.
+     */
+    synchronized long reservar(long esperaMaximaNanos) {
+        long ahora = reloj.getAsLong();
+        disponibles = Math.min(capacidad, disponibles + (ahora - repuestoEn) / nanosPorFicha);
+        repuestoEn = ahora;
+
+        long espera = disponibles >= 1 ? 0 : (long) Math.ceil((1 - disponibles) * nanosPorFicha);
+        if (espera > esperaMaximaNanos) {
+            return -1;
+        }
+        disponibles -= 1;
+        return espera;
+    }
+}
@@ -0,0 +1,149 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plantilla HTML analizada una sola vez en tramos de texto fijo y variables.
+ * {@code {{nombre}}} inserta el valor escapado para HTML y
+ * {@code {{{nombre}}}} lo inserta tal cual, para fragmentos ya armados.
+ *
+ * <p>Las variables se declaran al compilar y los valores se pasan en ese
+ * mismo orden, así renderizar no busca nombres ni vuelve a recorrer el
+ * texto. Cada hilo reutiliza su propio {@link StringBuilder}.</p>
+ */
+public final class PlantillaCorreo {
+
+    // Un búfer que creció por un correo excepcional no se conserva.
+    private static final int CAPACIDAD_RETENIDA = 64 * 1024;
+    private static final int LARGO_ESTIMADO_VARIABLE = 32;
+    private static final ThreadLocal<StringBuilder> BUFER = ThreadLocal.withInitial(StringBuilder::new);
+
+    private final String[] literales;
+    private final int[] variables;
+    private final boolean[] escapar;
+    private final int cantidadVariables;
+    private final int largoEstimado;
+
+    private PlantillaCorreo(List<String> literales, List<Integer> variables, List<Boolean> escapar, int cantidadVariables) {
+        this.literales = literales.toArray(String[]::new);
+        this.variables = variables.stream().mapToInt(Integer::intValue).toArray();
+        this.escapar = new boolean[escapar.size()];
+        for (int i = 0; i < this.escapar.length; i++) {
+            this.escapar[i] = escapar.get(i);
+        }
+        this.cantidadVariables = cantidadVariables;
+        this.largoEstimado = literales.stream().mapToInt(String::length).sum()
+                + variables.size() * LARGO_ESTIMADO_VARIABLE;
+    }
+
+    /**
+     * Analiza la plantilla. Falla si usa una variable no declarada o si
+     * alguna declarada no aparece, para detectar errores al arrancar.
+     */
+    public static PlantillaCorreo compilar(String texto, String... nombres) {
+        List<String> declaradas = Arrays.asList(nombres);
+        boolean[] usadas = new boolean[nombres.length];
+        List<String> literales = new ArrayList<>();
+        List<Integer> variables = new ArrayList<>();
+        List<Boolean> escapar = new ArrayList<>();
+
+        int posicion = 0;
+        int apertura;
+        while ((apertura = texto.indexOf("{{", posicion)) >= 0) {
+            boolean sinEscapar = texto.startsWith("{{{", apertura);
+            String cierre = sinEscapar ? "}}}" : "}}";
+            int inicioNombre = apertura + (sinEscapar ? 3 : 2);
+            int fin = texto.indexOf(cierre, inicioNombre);
+            if (fin < 0) {
+                throw new IllegalArgumentException("Variable sin cerrar en la posición " + apertura);
+            }
+            String nombre = texto.substring(inicioNombre, fin).trim();
+            int indice = declaradas.indexOf(nombre);
+            if (indice < 0) {
+                throw new IllegalArgumentException("Variable no declarada en la plantilla: " + nombre);
+            }
+            usadas[indice] = true;
+            literales.add(texto.substring(posicion, apertura));
+            variables.add(indice);
+            escapar.add(!sinEscapar);
+            posicion = fin + cierre.length();
+        }
+        literales.add(texto.substring(posicion));
+
+        for (int i = 0; i < usadas.length; i++) {
+            if (!usadas[i]) {
+                throw new IllegalArgumentException("La plantilla no usa la variable " + nombres[i]);
+            }
+        }
+        return new PlantillaCorreo(literales, variables, escapar, nombres.length);
+    }
+
+    /**
+     * Los valores van en el orden en que se declararon las variables; un
+     * valor nulo se reemplaza por texto vacío.
+     */
+    public String renderizar(Object... valores) {
+        if (valores.length != cantidadVariables) {
+            throw new IllegalArgumentException(
+                    "Se esperaban " + cantidadVariables + " valores y se recibieron " + valores.length);
+        }
+        StringBuilder salida = BUFER.get();
+        salida.setLength(0);
+        salida.ensureCapacity(largoEstimado);
+        try {
+            for (int i = 0; i < variables.length; i++) {
+                salida.append(literales[i]);
+                Object valor = valores[variables[i]];
+                if (valor == null) {
+                    continue;
+                }
+                String texto = valor.toString();
+                if (escapar[i]) {
+                    escaparHtml(texto, salida);
+                } else {
+                    salida.append(texto);
+                }
+            }
+            salida.append(literales[literales.length - 1]);
+            return salida.toString();
+        } finally {
+            if (salida.capacity() > CAPACIDAD_RETENIDA) {
+                BUFER.remove();
+            }
+        }
+    }
+
+    public static String escaparHtml(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        StringBuilder salida = new StringBuilder(valor.length() + 16);
+        escaparHtml(valor, salida);
+        return salida.toString();
+    }
+
+    /**
+     * Recorre el texto una sola vez y copia de corrido los tramos que no
+     * necesitan escape.
+     */
+    static void escaparHtml(String valor, StringBuilder salida) {
+        int copiadoHasta = 0;
+        for (int i = 0; i < valor.length(); i++) {
+            String reemplazo = switch (valor.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (reemplazo != null) {
+                salida.append(valor, copiadoHasta, i).append(reemplazo);
+                copiadoHasta = i + 1;
+            }
+        }
+        salida.append(valor, copiadoHasta, valor.length());
+    }
+}
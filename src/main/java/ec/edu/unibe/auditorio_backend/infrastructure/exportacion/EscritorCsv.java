@@ -0,0 +1,56 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.exportacion;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV según RFC 4180, en UTF-8 con BOM para que Excel reconozca las tildes.
+ */
+class EscritorCsv implements EscritorTabla {
+
+    private final BufferedWriter escritor;
+
+    EscritorCsv(OutputStream salida) throws IOException {
+        this.escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+        escritor.write('\uFEFF');
+    }
+
+    @Override
+    public void escribirFila(List<?> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escribirCelda(valores.get(i));
+        }
+        escritor.write("\r\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        escritor.flush();
+    }
+
+    private void escribirCelda(Object valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        String texto = valor.toString();
+        // Evita que una hoja de cálculo interprete el texto como fórmula.
+        if (valor instanceof String && !texto.isEmpty() && "=+-@".indexOf(texto.charAt(0)) >= 0) {
+            texto = "'" + texto;
+        }
+        if (texto.indexOf(',') >= 0 || texto.indexOf('"') >= 0
+                || texto.indexOf('\n') >= 0 || texto.indexOf('\r') >= 0) {
+            escritor.write('"');
+            escritor.write(texto.replace("\"", "\"\""));
+            escritor.write('"');
+        } else {
+            escritor.write(texto);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.exportacion;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Escribe una tabla fila por fila directamente en la salida, sin conservar
+ * las filas ya escritas. Cerrar el escritor completa el archivo pero no
+ * cierra la salida subyacente.
+ */
+public interface EscritorTabla extends Closeable {
+
+    void escribirFila(List<?> valores) throws IOException;
+}
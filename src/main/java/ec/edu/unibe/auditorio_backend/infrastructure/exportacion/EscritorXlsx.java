@@ -0,0 +1,121 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.exportacion;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Libro XLSX de una sola hoja escrito en streaming: las partes fijas se
+ * escriben al abrir y cada fila se agrega a la hoja con texto en línea, sin
+ * tabla de cadenas compartidas que obligue a retener el contenido.
+ */
+class EscritorXlsx implements EscritorTabla {
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            </Types>""";
+
+    private static final String RELACIONES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+            Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String LIBRO = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets><sheet name="Reservas" sheetId="1" r:id="rId1"/></sheets>\
+            </workbook>""";
+
+    private static final String RELACIONES_LIBRO = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" \
+            Target="worksheets/sheet1.xml"/>\
+            </Relationships>""";
+
+    private final ZipOutputStream zip;
+    private final BufferedWriter hoja;
+
+    EscritorXlsx(OutputStream salida) throws IOException {
+        this.zip = new ZipOutputStream(salida, StandardCharsets.UTF_8);
+        this.hoja = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+
+        escribirParte("[Content_Types].xml", CONTENT_TYPES);
+        escribirParte("_rels/.rels", RELACIONES);
+        escribirParte("xl/workbook.xml", LIBRO);
+        escribirParte("xl/_rels/workbook.xml.rels", RELACIONES_LIBRO);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        hoja.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                + "<sheetData>");
+    }
+
+    @Override
+    public void escribirFila(List<?> valores) throws IOException {
+        hoja.write("<row>");
+        for (Object valor : valores) {
+            if (valor == null) {
+                hoja.write("<c/>");
+            } else if (valor instanceof Number numero) {
+                hoja.write("<c t=\"n\"><v>");
+                hoja.write(numero.toString());
+                hoja.write("</v></c>");
+            } else {
+                hoja.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                escaparXml(valor.toString());
+                hoja.write("</t></is></c>");
+            }
+        }
+        hoja.write("</row>");
+    }
+
+    @Override
+    public void close() throws IOException {
+        hoja.write("</sheetData></worksheet>");
+        hoja.flush();
+        zip.closeEntry();
+        zip.finish();
+    }
+
+    private void escribirParte(String nombre, String contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(nombre));
+        zip.write(contenido.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private void escaparXml(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> hoja.write("&amp;");
+                case '<' -> hoja.write("&lt;");
+                case '>' -> hoja.write("&gt;");
+                case '"' -> hoja.write("&quot;");
+                default -> {
+                    // XML 1.0 no admite los demás caracteres de control.
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        hoja.write(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.exportacion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public enum FormatoExportacion {
+
+    CSV("text/csv;charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String tipoContenido;
+    private final String extension;
+
+    FormatoExportacion(String tipoContenido, String extension) {
+        this.tipoContenido = tipoContenido;
+        this.extension = extension;
+    }
+
+    public String getTipoContenido() { return tipoContenido; }
+    public String getExtension() { return extension; }
+
+    public EscritorTabla abrir(OutputStream salida) throws IOException {
+        return this == CSV ? new EscritorCsv(salida) : new EscritorXlsx(salida);
+    }
+}
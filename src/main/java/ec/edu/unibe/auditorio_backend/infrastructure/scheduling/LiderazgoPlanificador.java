@@ -0,0 +1,120 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Elige una sola instancia líder para las tareas marcadas con
+ * {@link SoloNodoLider}. La instancia que obtiene el bloqueo consultivo de
+ * sesión de PostgreSQL es la líder mientras conserve su conexión; si cae o
+ * pierde la conexión, PostgreSQL libera el bloqueo y otra instancia lo toma
+ * en su siguiente intento.
+ *
+ * <p>Con {@code app.scheduling.lider.habilitado=false} la instancia se
+ * considera siempre líder, como en un despliegue de un solo nodo.</p>
+ */
+@Component
+public class LiderazgoPlanificador {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LiderazgoPlanificador.class);
+
+    // Fuera de los rangos usados por los bloqueos de reservas.
+    private static final long CLAVE_LIDERAZGO = 0x4155444954L;
+
+    private final DataSource dataSource;
+    private final boolean habilitado;
+
+    private Connection conexion;
+    private volatile boolean lider;
+
+    public LiderazgoPlanificador(
+            DataSource dataSource,
+            @Value("${app.scheduling.lider.habilitado:true}") boolean habilitado) {
+        this.dataSource = dataSource;
+        this.habilitado = habilitado;
+    }
+
+    public boolean esLider() {
+        return !habilitado || lider;
+    }
+
+    /**
+     * Verifica la conexión que sostiene el bloqueo y, si esta instancia aún
+     * no es líder, intenta obtenerlo sin esperar.
+     */
+    @Scheduled(fixedDelayString = "${app.scheduling.lider.intervalo-ms:15000}")
+    public synchronized void renovar() {
+        if (!habilitado) {
+            return;
+        }
+
+        try {
+            if (conexion != null && !conexion.isValid(5)) {
+                perderLiderazgo("la conexión del bloqueo dejó de responder");
+            }
+            if (conexion == null) {
+                conexion = dataSource.getConnection();
+                conexion.setAutoCommit(true);
+            }
+            if (!lider && intentarBloqueo()) {
+                lider = true;
+                LOGGER.info("Esta instancia ejecutará las tareas programadas como líder");
+            }
+        } catch (SQLException ex) {
+            perderLiderazgo(ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void liberar() {
+        if (conexion == null) {
+            return;
+        }
+        try (PreparedStatement sentencia = conexion.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+            sentencia.setLong(1, CLAVE_LIDERAZGO);
+            sentencia.execute();
+        } catch (SQLException ex) {
+            LOGGER.debug("No se pudo liberar el bloqueo de liderazgo", ex);
+        }
+        cerrarConexion();
+        lider = false;
+    }
+
+    private boolean intentarBloqueo() throws SQLException {
+        try (PreparedStatement sentencia = conexion.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+            sentencia.setLong(1, CLAVE_LIDERAZGO);
+            try (ResultSet resultado = sentencia.executeQuery()) {
+                return resultado.next() && resultado.getBoolean(1);
+            }
+        }
+    }
+
+    private void perderLiderazgo(String motivo) {
+        if (lider) {
+            LOGGER.warn("Esta instancia dejó de ser líder: {}", motivo);
+        }
+        lider = false;
+        cerrarConexion();
+    }
+
+    private void cerrarConexion() {
+        if (conexion != null) {
+            try {
+                conexion.close();
+            } catch (SQLException ex) {
+                LOGGER.debug("No se pudo cerrar la conexión del bloqueo de liderazgo", ex);
+            }
+            conexion = null;
+        }
+    }
+}
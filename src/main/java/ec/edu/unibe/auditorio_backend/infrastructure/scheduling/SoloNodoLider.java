@@ -0,0 +1,20 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.scheduling;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca una tarea programada que solo debe ejecutar la instancia elegida
+ * como líder. En las demás instancias la invocación se omite.
+ *
+ * <p>Como cualquier aspecto de Spring, no aplica a llamadas internas ni a
+ * {@code @PostConstruct}; la tarea debe invocarse a través del proxy.</p>
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SoloNodoLider {
+}
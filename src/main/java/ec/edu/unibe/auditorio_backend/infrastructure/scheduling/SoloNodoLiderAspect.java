@@ -0,0 +1,32 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.scheduling;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Se ejecuta antes que el proxy transaccional para no abrir transacciones en
+ * las instancias que no son líderes.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SoloNodoLiderAspect {
+
+    private final LiderazgoPlanificador liderazgo;
+
+    public SoloNodoLiderAspect(LiderazgoPlanificador liderazgo) {
+        this.liderazgo = liderazgo;
+    }
+
+    @Around("@annotation(ec.edu.unibe.auditorio_backend.infrastructure.scheduling.SoloNodoLider)")
+    public Object ejecutarSiEsLider(ProceedingJoinPoint tarea) throws Throwable {
+        if (!liderazgo.esLider()) {
+            return null;
+        }
+        return tarea.proceed();
+    }
+}
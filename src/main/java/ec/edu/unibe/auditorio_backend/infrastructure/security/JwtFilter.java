@@ -1,5 +1,7 @@
 package ec.edu.unibe.auditorio_backend.infrastructure.security;
 
+import ec.edu.unibe.auditorio_backend.domain.entity.TicketTiempoReal;
+import ec.edu.unibe.auditorio_backend.domain.service.TicketTiempoRealService;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
@@ -12,16 +14,21 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final String RUTA_TIEMPO_REAL = "/api/tiempo-real";
+
     private final JwtUtil jwtUtil;
+    private final TicketTiempoRealService ticketService;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, TicketTiempoRealService ticketService) {
         this.jwtUtil = jwtUtil;
+        this.ticketService = ticketService;
     }
 
     @Override
@@ -31,10 +38,17 @@ public class JwtFilter extends OncePerRequestFilter {
             FilterChain filterChain) throws ServletException, IOException {
 
         String header = request.getHeader("Authorization");
-
+        String token = null;
         if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
-            
+            token = header.substring(7);
+        } else if (RUTA_TIEMPO_REAL.equals(request.getServletPath())
+                && request.getParameter("ticket") != null) {
+            // EventSource no puede enviar cabeceras; el canal SSE acepta en
+            // la URL un ticket de un solo uso en lugar del JWT.
+            autenticarConTicket(request, request.getParameter("ticket"));
+        }
+
+        if (token != null) {
             try {
                 Claims claims = jwtUtil.extraerClaims(token); 
                 String username = claims.getSubject();
@@ -60,4 +74,24 @@ public class JwtFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private void autenticarConTicket(HttpServletRequest request, String ticket) {
+        try {
+            ticketService.canjear(ticket).ifPresent(canjeado -> {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                        canjeado.getUsername(), null, autoridades(canjeado));
+                auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            });
+        } catch (Exception e) {
+            logger.error("Error procesando ticket de tiempo real", e);
+        }
+    }
+
+    private List<GrantedAuthority> autoridades(TicketTiempoReal ticket) {
+        return Arrays.stream(ticket.getAutoridades().split(","))
+                .filter(autoridad -> !autoridad.isBlank())
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package ec.edu.unibe.auditorio_backend.infrastructure.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.*;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -35,6 +36,9 @@ public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         .sessionManagement(sm -> 
             sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
+            // El despacho asíncrono con que termina una conexión SSE ya fue
+            // autorizado en la petición original.
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers("/auth/**").permitAll()
             .requestMatchers("/api/debug/**").permitAll()
             .anyRequest().authenticated()
@@ -0,0 +1,269 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.tiemporeal;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conexiones Server-Sent Events abiertas, agrupadas por usuario. Los mensajes
+ * se encolan en cada conexión y un grupo pequeño de hilos los escribe, así
+ * quien publica nunca espera a un cliente lento.
+ *
+ * <p>Cada conexión admite una cantidad limitada de mensajes pendientes; si
+ * el cliente no los consume a tiempo se cierra y el navegador se reconecta.
+ * Los latidos son comentarios SSE que mantienen viva la conexión a través de
+ * proxies sin consultar la base de datos.</p>
+ *
+ * <p>Las conexiones viven en la instancia que las abrió; {@link RelevoTiempoReal}
+ * lleva cada mensaje a las demás instancias para que lleguen a todos los
+ * usuarios sin importar a qué nodo se conectaron.</p>
+ */
+@Component
+public class CanalTiempoReal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CanalTiempoReal.class);
+    private static final int CONEXIONES_POR_USUARIO = 5;
+    private static final long ESPERA_RECONEXION_MS = 5_000;
+    private static final String TEMA_RELEVO = "canal";
+
+    private final int mensajesPendientes;
+    private final long duracionConexionMs;
+    private final Map<String, Deque<Suscripcion>> suscripciones = new ConcurrentHashMap<>();
+    private final ExecutorService envios;
+    private final RelevoTiempoReal relevo;
+
+    public CanalTiempoReal(
+            RelevoTiempoReal relevo,
+            @Value("${app.tiempo-real.mensajes-pendientes:64}") int mensajesPendientes,
+            @Value("${app.tiempo-real.duracion-conexion-ms:1800000}") long duracionConexionMs,
+            @Value("${app.tiempo-real.hilos-envio:2}") int hilosEnvio) {
+        this.mensajesPendientes = mensajesPendientes;
+        this.duracionConexionMs = duracionConexionMs;
+        AtomicInteger numero = new AtomicInteger();
+        this.envios = Executors.newFixedThreadPool(hilosEnvio, tarea -> {
+            Thread hilo = new Thread(tarea, "tiempo-real-" + numero.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.relevo = relevo;
+        relevo.suscribir(TEMA_RELEVO, MensajeRelevado.class, mensaje -> {
+            if (mensaje.usuario() == null) {
+                entregarATodos(mensaje.nombre(), mensaje.dato());
+            } else {
+                entregar(mensaje.usuario(), mensaje.nombre(), mensaje.dato());
+            }
+        });
+    }
+
+    /**
+     * Abre una conexión para el usuario. Al superar el máximo de conexiones
+     * por usuario se cierra la más antigua.
+     */
+    public SseEmitter suscribir(String username) {
+        Suscripcion suscripcion = new Suscripcion(username, new SseEmitter(duracionConexionMs));
+        SseEmitter emitter = suscripcion.emitter;
+        emitter.onCompletion(() -> retirar(suscripcion));
+        emitter.onTimeout(() -> retirar(suscripcion));
+        emitter.onError(error -> retirar(suscripcion));
+
+        // Se agrega dentro de compute para no competir con retirar(), que
+        // elimina la cola del usuario cuando queda vacía.
+        List<Suscripcion> excedentes = new ArrayList<>(1);
+        suscripciones.compute(username, (clave, delUsuario) -> {
+            Deque<Suscripcion> conexiones = delUsuario != null ? delUsuario : new ArrayDeque<>();
+            synchronized (conexiones) {
+                conexiones.addLast(suscripcion);
+                if (conexiones.size() > CONEXIONES_POR_USUARIO) {
+                    excedentes.add(conexiones.pollFirst());
+                }
+            }
+            return conexiones;
+        });
+        excedentes.forEach(Suscripcion::cerrar);
+        suscripcion.encolar(new Mensaje(null, "conectado"));
+        return emitter;
+    }
+
+    public void enviar(String username, String nombre, Object dato) {
+        entregar(username, nombre, dato);
+        relevo.publicar(TEMA_RELEVO, new MensajeRelevado(username, nombre, dato));
+    }
+
+    public void difundir(String nombre, Object dato) {
+        entregarATodos(nombre, dato);
+        relevo.publicar(TEMA_RELEVO, new MensajeRelevado(null, nombre, dato));
+    }
+
+    /**
+     * Envía el mensaje solo si la transacción actual se confirma.
+     */
+    public void enviarAlConfirmar(String username, String nombre, Object dato) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enviar(username, nombre, dato);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enviar(username, nombre, dato);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.tiempo-real.latido-ms:25000}")
+    public void latir() {
+        suscripciones.values().forEach(delUsuario -> {
+            for (Suscripcion suscripcion : copiar(delUsuario)) {
+                // Una conexión con mensajes pendientes no necesita latido.
+                if (suscripcion.pendientes.isEmpty()) {
+                    suscripcion.encolar(new Mensaje(null, "latido"));
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        suscripciones.values().forEach(delUsuario -> copiar(delUsuario).forEach(Suscripcion::cerrar));
+        envios.shutdownNow();
+    }
+
+    private void entregar(String username, String nombre, Object dato) {
+        Deque<Suscripcion> delUsuario = suscripciones.get(username);
+        if (delUsuario == null) {
+            return;
+        }
+        for (Suscripcion suscripcion : copiar(delUsuario)) {
+            suscripcion.encolar(new Mensaje(nombre, dato));
+        }
+    }
+
+    private void entregarATodos(String nombre, Object dato) {
+        suscripciones.values().forEach(delUsuario -> {
+            for (Suscripcion suscripcion : copiar(delUsuario)) {
+                suscripcion.encolar(new Mensaje(nombre, dato));
+            }
+        });
+    }
+
+    private List<Suscripcion> copiar(Deque<Suscripcion> delUsuario) {
+        synchronized (delUsuario) {
+            return List.copyOf(delUsuario);
+        }
+    }
+
+    private void retirar(Suscripcion suscripcion) {
+        suscripciones.computeIfPresent(suscripcion.username, (clave, delUsuario) -> {
+            synchronized (delUsuario) {
+                delUsuario.remove(suscripcion);
+                return delUsuario.isEmpty() ? null : delUsuario;
+            }
+        });
+    }
+
+    /** Un {@code usuario} nulo indica un mensaje para todas las conexiones. */
+    private record MensajeRelevado(String usuario, String nombre, Object dato) {
+    }
+
+    /** Un {@code nombre} nulo indica un comentario SSE. */
+    private record Mensaje(String nombre, Object dato) {
+    }
+
+    private final class Suscripcion {
+
+        private final String username;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Mensaje> pendientes = new ArrayBlockingQueue<>(mensajesPendientes);
+        private final AtomicBoolean programada = new AtomicBoolean();
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+        private boolean primerMensaje = true;
+
+        private Suscripcion(String username, SseEmitter emitter) {
+            this.username = username;
+            this.emitter = emitter;
+        }
+
+        void encolar(Mensaje mensaje) {
+            if (cerrada.get()) {
+                return;
+            }
+            if (!pendientes.offer(mensaje)) {
+                LOGGER.debug("Conexión en tiempo real de {} cerrada por mensajes sin consumir", username);
+                cerrar();
+                return;
+            }
+            programar();
+        }
+
+        // Como máximo una tarea de envío por conexión, para conservar el orden.
+        private void programar() {
+            if (programada.compareAndSet(false, true)) {
+                try {
+                    envios.execute(this::vaciar);
+                } catch (RuntimeException rechazo) {
+                    programada.set(false);
+                }
+            }
+        }
+
+        private void vaciar() {
+            try {
+                Mensaje mensaje;
+                while (!cerrada.get() && (mensaje = pendientes.poll()) != null) {
+                    emitter.send(construir(mensaje));
+                }
+            } catch (IOException | IllegalStateException exception) {
+                cerrar();
+            } finally {
+                programada.set(false);
+                if (!pendientes.isEmpty() && !cerrada.get()) {
+                    programar();
+                }
+            }
+        }
+
+        private SseEmitter.SseEventBuilder construir(Mensaje mensaje) {
+            SseEmitter.SseEventBuilder evento = SseEmitter.event();
+            if (primerMensaje) {
+                evento.reconnectTime(ESPERA_RECONEXION_MS);
+                primerMensaje = false;
+            }
+            return mensaje.nombre() == null
+                    ? evento.comment(String.valueOf(mensaje.dato()))
+                    : evento.name(mensaje.nombre()).data(mensaje.dato(), MediaType.APPLICATION_JSON);
+        }
+
+        void cerrar() {
+            if (cerrada.compareAndSet(false, true)) {
+                pendientes.clear();
+                retirar(this);
+                try {
+                    emitter.complete();
+                } catch (RuntimeException exception) {
+                    // La conexión ya estaba cerrada.
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.tiemporeal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Reparte entre las instancias los avisos de estado en memoria con
+ * {@code LISTEN/NOTIFY} de PostgreSQL: los mensajes del canal en tiempo real
+ * y los cambios que otras cachés locales deben aplicar. Cada aviso lleva un
+ * tema y solo lo reciben los suscriptores de ese tema. Quien publica aplica
+ * primero el cambio en su instancia; al recibir, cada instancia ignora lo que
+ * ella misma publicó.
+ *
+ * <p>Un hilo propio escucha sobre una conexión dedicada y la reabre si se
+ * pierde; los mensajes publicados mientras tanto no llegan a esa instancia,
+ * igual que a un navegador desconectado. Las publicaciones salen de otro hilo
+ * con una conexión del pool en modo autocommit, así no dependen de la
+ * transacción de quien publica ni la hacen esperar.</p>
+ *
+ * <p>Con {@code app.tiempo-real.relevo.habilitado=false} no se publica ni se
+ * escucha, como en un despliegue de un solo nodo.</p>
+ */
+@Component
+public class RelevoTiempoReal {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RelevoTiempoReal.class);
+    private static final String CANAL = "tiempo_real";
+    // PostgreSQL rechaza cargas de 8000 bytes o más.
+    private static final int CARGA_MAXIMA = 7900;
+    private static final int ESPERA_NOTIFICACIONES_MS = 10_000;
+    private static final long ESPERA_RECONEXION_MS = 5_000;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final boolean habilitado;
+    private final String nodo = UUID.randomUUID().toString();
+    private final ExecutorService publicaciones;
+
+    private final Map<String, Consumer<Object>> suscriptores = new ConcurrentHashMap<>();
+    private volatile boolean activo;
+    private Thread escucha;
+
+    public RelevoTiempoReal(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${app.tiempo-real.relevo.habilitado:true}") boolean habilitado) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.habilitado = habilitado;
+        this.publicaciones = Executors.newSingleThreadExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "tiempo-real-publicacion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+    }
+
+    /**
+     * Recibe los avisos del tema publicados por las demás instancias, ya
+     * convertidos al tipo indicado. La entrega ocurre en el hilo de escucha,
+     * así que el receptor debe ser breve.
+     */
+    public <T> void suscribir(String tema, Class<T> tipo, Consumer<T> receptor) {
+        suscriptores.put(tema, dato -> receptor.accept(objectMapper.convertValue(dato, tipo)));
+    }
+
+    public void publicar(String tema, Object dato) {
+        if (!habilitado) {
+            return;
+        }
+        String carga;
+        try {
+            carga = objectMapper.writeValueAsString(new Aviso(nodo, tema, dato));
+        } catch (JsonProcessingException exception) {
+            LOGGER.warn("No se pudo serializar el aviso {}", tema, exception);
+            return;
+        }
+        if (carga.getBytes(StandardCharsets.UTF_8).length > CARGA_MAXIMA) {
+            LOGGER.warn("Aviso {} demasiado grande para las demás instancias", tema);
+            return;
+        }
+        try {
+            publicaciones.execute(() -> notificar(carga));
+        } catch (RuntimeException rechazo) {
+            // La aplicación se está deteniendo.
+        }
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        activo = true;
+        escucha = new Thread(this::escuchar, "tiempo-real-escucha");
+        escucha.setDaemon(true);
+        escucha.start();
+    }
+
+    @PreDestroy
+    public void detener() {
+        activo = false;
+        publicaciones.shutdownNow();
+        if (escucha != null) {
+            escucha.interrupt();
+        }
+    }
+
+    private void notificar(String carga) {
+        try (Connection conexion = dataSource.getConnection();
+             PreparedStatement sentencia = conexion.prepareStatement("SELECT pg_notify(?, ?)")) {
+            sentencia.setString(1, CANAL);
+            sentencia.setString(2, carga);
+            sentencia.execute();
+        } catch (SQLException exception) {
+            LOGGER.warn("No se pudo publicar el mensaje en tiempo real a las demás instancias", exception);
+        }
+    }
+
+    private void escuchar() {
+        while (activo) {
+            try (Connection conexion = dataSource.getConnection()) {
+                conexion.setAutoCommit(true);
+                try (Statement sentencia = conexion.createStatement()) {
+                    sentencia.execute("LISTEN " + CANAL);
+                }
+                PGConnection pg = conexion.unwrap(PGConnection.class);
+                while (activo) {
+                    PGNotification[] notificaciones = pg.getNotifications(ESPERA_NOTIFICACIONES_MS);
+                    if (notificaciones != null) {
+                        for (PGNotification notificacion : notificaciones) {
+                            recibir(notificacion.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException exception) {
+                if (!activo) {
+                    return;
+                }
+                LOGGER.warn("Se perdió la escucha de mensajes en tiempo real: {}", exception.getMessage());
+                try {
+                    Thread.sleep(ESPERA_RECONEXION_MS);
+                } catch (InterruptedException interrupcion) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void recibir(String carga) {
+        try {
+            Aviso aviso = objectMapper.readValue(carga, Aviso.class);
+            Consumer<Object> receptor = suscriptores.get(aviso.tema());
+            if (receptor != null && !nodo.equals(aviso.nodo())) {
+                receptor.accept(aviso.dato());
+            }
+        } catch (JsonProcessingException | RuntimeException exception) {
+            LOGGER.warn("Aviso de otra instancia descartado", exception);
+        }
+    }
+
+    private record Aviso(String nodo, String tema, Object dato) {
+    }
+}
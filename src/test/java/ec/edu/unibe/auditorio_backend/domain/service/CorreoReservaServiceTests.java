@@ -0,0 +1,255 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import ec.edu.unibe.auditorio_backend.domain.entity.CorreoPendiente;
+import ec.edu.unibe.auditorio_backend.domain.enums.EstadoEvento;
+import ec.edu.unibe.auditorio_backend.domain.repository.CorreoPendienteRepository;
+import ec.edu.unibe.auditorio_backend.infrastructure.correo.ClienteBrevo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Arma el aviso de una nueva reserva y lo entrega a un servidor local que
+ * imita la API de Brevo, para comprobar que todos los administradores
+ * reciben su versión personalizada en una sola solicitud.
+ */
+class CorreoReservaServiceTests {
+
+	// Correo de cambio de estado tal como se armaba con String.formatted
+	// antes de PlantillaCorreo.
+	private static final String CAMBIO_ESTADO_ANTERIOR = """
+			<!doctype html>
+			<html lang="es">
+			<body style="margin:0;background:#f3f6fa;font-family:Arial,sans-serif;color:#1C2544;">
+			  <div style="max-width:620px;margin:24px auto;background:#fff;border-radius:12px;overflow:hidden;border:1px solid #dce4ee;">
+			    <div style="background:#1C2544;padding:24px;color:#fff;border-bottom:6px solid #FECC0D;">
+			      <div style="font-size:22px;font-weight:700;">Reservas Auditorio UNIB.E</div>
+			    </div>
+			    <div style="padding:28px;">
+			      <p>Hola, <strong>%s</strong>.</p>
+			      <p>El estado de su reserva fue actualizado a:</p>
+			      <div style="font-size:22px;font-weight:700;color:#004990;margin:18px 0;">%s</div>
+			      <table style="width:100%%;border-collapse:collapse;line-height:1.7;">
+			        <tr><td><strong>Evento</strong></td><td>%s</td></tr>
+			        <tr><td><strong>Fecha</strong></td><td>%s</td></tr>
+			        <tr><td><strong>Horario</strong></td><td>%s - %s</td></tr>
+			      </table>
+			      %s
+			      <p style="margin-top:26px;color:#596579;">Este es un mensaje automatico del sistema de reservas.</p>
+			    </div>
+			  </div>
+			</body>
+			</html>
+			""";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Queue<Solicitud> recibidas = new ConcurrentLinkedQueue<>();
+	private final CorreoPendienteRepository correoRepository = mock(CorreoPendienteRepository.class);
+
+	private HttpServer brevo;
+	private ClienteBrevo clienteBrevo;
+
+	@BeforeEach
+	void iniciarBrevo() throws IOException {
+		brevo = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		brevo.createContext("/v3/smtp/email", intercambio -> {
+			try (InputStream cuerpo = intercambio.getRequestBody()) {
+				recibidas.add(new Solicitud(
+						intercambio.getRequestHeaders().getFirst("api-key"),
+						new String(cuerpo.readAllBytes(), StandardCharsets.UTF_8)));
+			}
+			byte[] respuesta = "{\"messageIds\":[]}".getBytes(StandardCharsets.UTF_8);
+			intercambio.getResponseHeaders().add("Content-Type", "application/json");
+			intercambio.sendResponseHeaders(201, respuesta.length);
+			intercambio.getResponseBody().write(respuesta);
+			intercambio.close();
+		});
+		brevo.start();
+		clienteBrevo = new ClienteBrevo(
+				RestClient.builder(),
+				"http://localhost:" + brevo.getAddress().getPort() + "/v3",
+				"clave-prueba",
+				1000,
+				2000,
+				100,
+				1000,
+				5,
+				30);
+	}
+
+	@AfterEach
+	void detenerBrevo() {
+		brevo.stop(0);
+	}
+
+	@Test
+	void unaSolaSolicitudCubreATodosLosAdministradores() throws IOException {
+		CorreoReservaService servicio = nuevoServicio(true);
+
+		servicio.encolarNuevaReserva(nuevoEvento(), List.of(
+				administrador("1700000001", "Ana", "ana@unibe.edu.ec"),
+				administrador("1700000002", "Luis <b>", "luis@unibe.edu.ec"),
+				administrador("1700000003", "Marta", "marta@unibe.edu.ec")));
+		entregarEncolados(1);
+
+		assertThat(recibidas).hasSize(1);
+		Solicitud solicitud = recibidas.peek();
+		assertThat(solicitud.apiKey()).isEqualTo("clave-prueba");
+
+		JsonNode cuerpo = objectMapper.readTree(solicitud.cuerpo());
+		assertThat(cuerpo.has("to")).isFalse();
+		assertThat(cuerpo.get("htmlContent").asText()).contains("{{ params.nombre }}");
+		List<String> correos = new ArrayList<>();
+		List<String> nombres = new ArrayList<>();
+		cuerpo.get("messageVersions").forEach(version -> {
+			correos.add(version.get("to").get(0).get("email").asText());
+			nombres.add(version.get("params").get("nombre").asText());
+		});
+		assertThat(correos).containsExactly("ana@unibe.edu.ec", "luis@unibe.edu.ec", "marta@unibe.edu.ec");
+		assertThat(nombres).containsExactly("Ana", "Luis &lt;b&gt;", "Marta");
+	}
+
+	@Test
+	void losNombresEscritosPorUsuariosNoSeInterpretanComoPlantilla() throws IOException {
+		CorreoReservaService servicio = nuevoServicio(true);
+		ReservaInstantanea reserva = new ReservaInstantanea(
+				8L,
+				"Taller {{ params.nombre }} {% if 1 %}",
+				LocalDate.of(2030, 3, 14),
+				LocalTime.of(9, 0),
+				LocalTime.of(11, 0),
+				40,
+				EstadoEvento.PENDIENTE,
+				null,
+				new DestinatarioReserva(9L, "1700000009", "Pedro {{", "Vera", "pedro@unibe.edu.ec"));
+
+		servicio.encolarNuevaReserva(reserva, List.of(administrador("1700000001", "Ana", "ana@unibe.edu.ec")));
+		entregarEncolados(1);
+
+		JsonNode cuerpo = objectMapper.readTree(recibidas.peek().cuerpo());
+		assertThat(cuerpo.get("subject").asText()).isEqualTo("{{ params.asunto }}");
+		assertThat(cuerpo.get("htmlContent").asText())
+				.doesNotContain("Taller", "Pedro", "{%")
+				.contains("{{ params.evento }}", "{{ params.solicitante }}");
+		JsonNode params = cuerpo.get("messageVersions").get(0).get("params");
+		assertThat(params.get("evento").asText()).isEqualTo("Taller {{ params.nombre }} {% if 1 %}");
+		assertThat(params.get("solicitante").asText()).isEqualTo("Pedro {{ Vera");
+		assertThat(params.get("asunto").asText())
+				.isEqualTo("Nueva reserva pendiente: Taller {{ params.nombre }} {% if 1 %}");
+	}
+
+	@Test
+	void sinEnvioAgrupadoSeEnviaUnaSolicitudPorAdministrador() throws IOException {
+		CorreoReservaService servicio = nuevoServicio(false);
+
+		servicio.encolarNuevaReserva(nuevoEvento(), List.of(
+				administrador("1700000001", "Ana", "ana@unibe.edu.ec"),
+				administrador("1700000002", "Luis", "luis@unibe.edu.ec")));
+		entregarEncolados(2);
+
+		assertThat(recibidas).hasSize(2);
+		for (Solicitud solicitud : recibidas) {
+			JsonNode cuerpo = objectMapper.readTree(solicitud.cuerpo());
+			assertThat(cuerpo.has("messageVersions")).isFalse();
+			assertThat(cuerpo.get("htmlContent").asText()).doesNotContain("params.nombre");
+		}
+	}
+
+	@Test
+	void elCambioDeEstadoConservaElHtmlAnterior() throws IOException {
+		CorreoReservaService servicio = nuevoServicio(true);
+		ReservaInstantanea reserva = new ReservaInstantanea(
+				7L,
+				"Foro <IA> & \"Datos\"",
+				LocalDate.of(2030, 3, 14),
+				LocalTime.of(9, 0),
+				LocalTime.of(11, 30),
+				120,
+				EstadoEvento.RECHAZADO,
+				"Aforo > 100 & sala 'B' ocupada",
+				new DestinatarioReserva(9L, "1700000009", "María <José>", "Vera", "maria@unibe.edu.ec"));
+
+		servicio.encolarCambioEstado(reserva);
+		servicio.encolarCambioEstado(new ReservaInstantanea(
+				8L, "Taller", LocalDate.of(2030, 3, 15), LocalTime.of(8, 0), LocalTime.of(9, 0), 20,
+				EstadoEvento.APROBADO, null,
+				new DestinatarioReserva(9L, "1700000009", null, "Vera", "maria@unibe.edu.ec")));
+
+		ArgumentCaptor<CorreoPendiente> encolados = ArgumentCaptor.forClass(CorreoPendiente.class);
+		verify(correoRepository, times(2)).save(encolados.capture());
+		assertThat(contenidoHtml(encolados.getAllValues().get(0))).isEqualTo(CAMBIO_ESTADO_ANTERIOR.formatted(
+				"María &lt;José&gt;",
+				"RECHAZADO",
+				"Foro &lt;IA&gt; &amp; &quot;Datos&quot;",
+				"14/03/2030",
+				"09:00",
+				"11:30",
+				"<div style=\"margin:20px 0;padding:14px;background:#f3f6fa;border-left:4px solid #FECC0D;\">"
+						+ "<strong>Motivo:</strong> Aforo &gt; 100 &amp; sala &#39;B&#39; ocupada</div>"));
+		assertThat(contenidoHtml(encolados.getAllValues().get(1))).isEqualTo(CAMBIO_ESTADO_ANTERIOR.formatted(
+				"", "APROBADO", "Taller", "15/03/2030", "08:00", "09:00", ""));
+	}
+
+	private String contenidoHtml(CorreoPendiente correo) throws IOException {
+		return objectMapper.readTree(correo.getMensaje()).get("htmlContent").asText();
+	}
+
+	private void entregarEncolados(int esperados) {
+		ArgumentCaptor<CorreoPendiente> encolados = ArgumentCaptor.forClass(CorreoPendiente.class);
+		verify(correoRepository, times(esperados)).save(encolados.capture());
+		encolados.getAllValues().forEach(correo -> clienteBrevo.enviar(correo.getMensaje()));
+	}
+
+	private CorreoReservaService nuevoServicio(boolean envioAgrupado) {
+		return new CorreoReservaService(
+				correoRepository,
+				clienteBrevo,
+				objectMapper,
+				true,
+				envioAgrupado,
+				"reservas@unibe.edu.ec",
+				"UNIB.E Reservas");
+	}
+
+	private ReservaInstantanea nuevoEvento() {
+		return new ReservaInstantanea(
+				7L,
+				"Congreso de Ingeniería",
+				LocalDate.of(2030, 3, 14),
+				LocalTime.of(9, 0),
+				LocalTime.of(11, 0),
+				120,
+				EstadoEvento.PENDIENTE,
+				null,
+				new DestinatarioReserva(9L, "1700000009", "Pedro", "Vera", "pedro@unibe.edu.ec"));
+	}
+
+	private DestinatarioReserva administrador(String cedula, String nombre, String correo) {
+		return new DestinatarioReserva(Long.valueOf(cedula), cedula, nombre, "Prueba", correo);
+	}
+
+	private record Solicitud(String apiKey, String cuerpo) {
+	}
+}
@@ -0,0 +1,159 @@
+package ec.edu.unibe.auditorio_backend.domain.service;
+
+import ec.edu.unibe.auditorio_backend.domain.entity.Espacio;
+import ec.edu.unibe.auditorio_backend.domain.entity.EventoAuditorio;
+import ec.edu.unibe.auditorio_backend.domain.entity.Responsable;
+import ec.edu.unibe.auditorio_backend.domain.entity.Usuario;
+import ec.edu.unibe.auditorio_backend.domain.enums.RolUsuario;
+import ec.edu.unibe.auditorio_backend.domain.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Lanza reservas simultáneas contra PostgreSQL para comprobar que los
+ * bloqueos por espacio y fecha impiden reservas dobles sin serializar los
+ * espacios entre sí.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = "DATABASE_URL", matches = ".+")
+class ReservasConcurrentesTests {
+
+	private static final int SOLICITUDES = 16;
+
+	@Autowired
+	private EventoAuditorioService eventoService;
+
+	@Autowired
+	private EspacioService espacioService;
+
+	@Autowired
+	private DisponibilidadService disponibilidadService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	private final Queue<Long> creados = new ConcurrentLinkedQueue<>();
+	private Usuario solicitante;
+	private LocalDate fecha;
+
+	@BeforeEach
+	void prepararSolicitante() {
+		String sufijo = String.format("%08d", ThreadLocalRandom.current().nextInt(100_000_000));
+		solicitante = usuarioRepository.save(Usuario.crearUsuario(
+				"98" + sufijo,
+				"sin-acceso",
+				RolUsuario.USER,
+				"Prueba",
+				"Concurrencia",
+				"concurrencia" + sufijo + "@unibe.edu.ec",
+				"09" + sufijo));
+		// Una fecha lejana reduce la probabilidad de chocar con datos reales.
+		fecha = disponibilidadService.calcularFechaMinimaReserva()
+				.plusYears(5)
+				.plusDays(ThreadLocalRandom.current().nextInt(365));
+	}
+
+	@AfterEach
+	void limpiar() {
+		creados.forEach(id -> eventoService.eliminarEvento(id, solicitante.getUsername()));
+		usuarioRepository.delete(solicitante);
+	}
+
+	@Test
+	void soloUnaReservaGanaElMismoHorarioDelMismoEspacio() throws Exception {
+		Long espacioId = espacioService.obtenerPredeterminado().getId();
+
+		List<Callable<Boolean>> solicitudes = new ArrayList<>();
+		for (int i = 0; i < SOLICITUDES; i++) {
+			solicitudes.add(() -> reservar(espacioId));
+		}
+
+		assertThat(ejecutarALaVez(solicitudes)).isEqualTo(1);
+	}
+
+	@Test
+	void espaciosDistintosSeReservanEnParalelo() throws Exception {
+		List<Callable<Boolean>> solicitudes = new ArrayList<>();
+		for (Espacio espacio : espacioService.listarActivos()) {
+			solicitudes.add(() -> reservar(espacio.getId()));
+		}
+
+		assertThat(ejecutarALaVez(solicitudes)).isEqualTo(solicitudes.size());
+	}
+
+	private boolean reservar(Long espacioId) {
+		try {
+			EventoAuditorio creado = eventoService.crearEvento(
+					nuevoEvento(espacioId), solicitante.getUsername());
+			creados.add(creado.getId());
+			return true;
+		} catch (RuntimeException rechazo) {
+			return false;
+		}
+	}
+
+	private int ejecutarALaVez(List<Callable<Boolean>> solicitudes) throws Exception {
+		ExecutorService hilos = Executors.newFixedThreadPool(solicitudes.size());
+		CountDownLatch salida = new CountDownLatch(1);
+		try {
+			List<Future<Boolean>> resultados = new ArrayList<>();
+			for (Callable<Boolean> solicitud : solicitudes) {
+				resultados.add(hilos.submit(() -> {
+					salida.await();
+					return solicitud.call();
+				}));
+			}
+			salida.countDown();
+
+			int exitosas = 0;
+			for (Future<Boolean> resultado : resultados) {
+				if (resultado.get()) {
+					exitosas++;
+				}
+			}
+			return exitosas;
+		} finally {
+			hilos.shutdownNow();
+		}
+	}
+
+	private EventoAuditorio nuevoEvento(Long espacioId) {
+		Espacio espacio = new Espacio();
+		espacio.setId(espacioId);
+
+		Responsable responsable = new Responsable();
+		responsable.setNombre("Responsable de prueba");
+		responsable.setCorreo("responsable@unibe.edu.ec");
+		responsable.setTelefono("0999999999");
+
+		EventoAuditorio evento = new EventoAuditorio();
+		evento.setNombreEvento("Prueba de concurrencia");
+		evento.setFechaEvento(fecha);
+		evento.setHoraInicio(LocalTime.of(10, 0));
+		evento.setHoraFin(LocalTime.of(11, 0));
+		evento.setNumeroAsistentes(5);
+		evento.setTipoDisposicion("Auditorio");
+		evento.setEspacio(espacio);
+		evento.setResponsable(responsable);
+		return evento;
+	}
+}
@@ -0,0 +1,104 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Recorre los estados del circuito con un reloj que cada prueba avanza a
+ * mano, sin esperas reales.
+ */
+class CircuitoProveedorTests {
+
+	private static final Duration TIEMPO_ABIERTO = Duration.ofSeconds(30);
+
+	private final AtomicLong reloj = new AtomicLong(1_000_000_000L);
+	private final CircuitoProveedor circuito = new CircuitoProveedor(3, TIEMPO_ABIERTO, reloj::get);
+
+	@Test
+	void seAbreAlAcumularFallosSeguidos() {
+		circuito.registrarFallo();
+		circuito.registrarFallo();
+		assertThat(circuito.estado()).isEqualTo(CircuitoProveedor.Estado.CERRADO);
+		assertThat(circuito.permitir()).isTrue();
+
+		circuito.registrarFallo();
+
+		assertThat(circuito.estado()).isEqualTo(CircuitoProveedor.Estado.ABIERTO);
+		assertThat(circuito.permitir()).isFalse();
+		assertThat(circuito.admiteEnvios()).isFalse();
+		assertThat(circuito.restante()).isEqualTo(TIEMPO_ABIERTO);
+	}
+
+	@Test
+	void unExitoReiniciaLaCuentaDeFallos() {
+		circuito.registrarFallo();
+		circuito.registrarFallo();
+		circuito.registrarExito();
+		circuito.registrarFallo();
+		circuito.registrarFallo();
+
+		assertThat(circuito.estado()).isEqualTo(CircuitoProveedor.Estado.CERRADO);
+	}
+
+	@Test
+	void alVencerElTiempoAbiertoSoloUnaPruebaPasa() {
+		abrir();
+		avanzar(TIEMPO_ABIERTO.minusNanos(1));
+		assertThat(circuito.admiteEnvios()).isFalse();
+		assertThat(circuito.permitir()).isFalse();
+		assertThat(circuito.restante()).isEqualTo(Duration.ofNanos(1));
+
+		avanzar(Duration.ofNanos(1));
+		assertThat(circuito.admiteEnvios()).isTrue();
+		assertThat(circuito.estado()).isEqualTo(CircuitoProveedor.Estado.ABIERTO);
+
+		assertThat(circuito.permitir()).isTrue();
+		assertThat(circuito.estado()).isEqualTo(CircuitoProveedor.Estado.SEMIABIERTO);
+		assertThat(circuito.permitir()).isFalse();
+		assertThat(circuito.admiteEnvios()).isFalse();
+		assertThat(circuito.restante()).isZero();
+	}
+
+	@Test
+	void unaPruebaExitosaCierraElCircuito() {
+		abrir();
+		avanzar(TIEMPO_ABIERTO);
+		assertThat(circuito.permitir()).isTrue();
+
+		circuito.registrarExito();
+
+		assertThat(circuito.estado()).isEqualTo(CircuitoProveedor.Estado.CERRADO);
+		assertThat(circuito.permitir()).isTrue();
+		assertThat(circuito.permitir()).isTrue();
+	}
+
+	@Test
+	void unaPruebaFallidaVuelveAAbrirloPorOtroPeriodoCompleto() {
+		abrir();
+		avanzar(TIEMPO_ABIERTO);
+		assertThat(circuito.permitir()).isTrue();
+
+		circuito.registrarFallo();
+
+		assertThat(circuito.estado()).isEqualTo(CircuitoProveedor.Estado.ABIERTO);
+		assertThat(circuito.permitir()).isFalse();
+		assertThat(circuito.restante()).isEqualTo(TIEMPO_ABIERTO);
+		avanzar(TIEMPO_ABIERTO);
+		assertThat(circuito.permitir()).isTrue();
+	}
+
+	private void abrir() {
+		for (int i = 0; i < 3; i++) {
+			circuito.registrarFallo();
+		}
+		assertThat(circuito.estado()).isEqualTo(CircuitoProveedor.Estado.ABIERTO);
+	}
+
+	private void avanzar(Duration tiempo) {
+		reloj.addAndGet(tiempo.toNanos());
+	}
+}
@@ -0,0 +1,147 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Prueba el cliente contra un servidor local que imita la API de Brevo y al
+ * que cada prueba le fija la demora y el código de respuesta.
+ */
+class ClienteBrevoTests {
+
+	private static final String MENSAJE = "{\"subject\":\"Prueba\"}";
+
+	private final AtomicInteger codigo = new AtomicInteger(201);
+	private final AtomicLong demoraMs = new AtomicLong();
+	private final AtomicInteger recibidas = new AtomicInteger();
+
+	private final ExecutorService hilosBrevo = Executors.newCachedThreadPool();
+	private HttpServer brevo;
+
+	@BeforeEach
+	void iniciarBrevo() throws IOException {
+		brevo = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		brevo.createContext("/v3/smtp/email", intercambio -> {
+			recibidas.incrementAndGet();
+			try (InputStream cuerpo = intercambio.getRequestBody()) {
+				cuerpo.readAllBytes();
+				Thread.sleep(demoraMs.get());
+				intercambio.sendResponseHeaders(codigo.get(), -1);
+			} catch (InterruptedException exception) {
+				Thread.currentThread().interrupt();
+			} finally {
+				intercambio.close();
+			}
+		});
+		brevo.setExecutor(hilosBrevo);
+		brevo.start();
+	}
+
+	@AfterEach
+	void detenerBrevo() {
+		brevo.stop(0);
+		hilosBrevo.shutdownNow();
+	}
+
+	@Test
+	void unaRespuestaLentaSeCortaPorTiempo() {
+		ClienteBrevo cliente = nuevoCliente(200, 100, 5);
+		demoraMs.set(2_000);
+
+		long inicio = System.nanoTime();
+		assertThatThrownBy(() -> cliente.enviar(MENSAJE)).isInstanceOf(ResourceAccessException.class);
+
+		assertThat((System.nanoTime() - inicio) / 1_000_000).isLessThan(1_500);
+		assertThat(cliente.metricas().fallidos()).isEqualTo(1);
+	}
+
+	@Test
+	void elCircuitoSeAbreTrasFallosSeguidosYSeCierraConUnaPruebaExitosa() throws InterruptedException {
+		ClienteBrevo cliente = nuevoCliente(2_000, 100, 3);
+		codigo.set(503);
+
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> cliente.enviar(MENSAJE)).isInstanceOf(HttpServerErrorException.class);
+		}
+		assertThatThrownBy(() -> cliente.enviar(MENSAJE)).isInstanceOf(EnvioNoDisponibleException.class);
+		assertThat(recibidas).hasValue(3);
+		assertThat(cliente.estaDisponible()).isFalse();
+		assertThat(cliente.metricas().circuito()).isEqualTo("ABIERTO");
+
+		Thread.sleep(1_100);
+		codigo.set(201);
+		assertThat(cliente.estaDisponible()).isTrue();
+		cliente.enviar(MENSAJE);
+
+		assertThat(recibidas).hasValue(4);
+		assertThat(cliente.metricas().circuito()).isEqualTo("CERRADO");
+		assertThat(cliente.metricas().cortadosPorCircuito()).isEqualTo(1);
+	}
+
+	@Test
+	void losRechazosDelProveedorNoAbrenElCircuito() {
+		ClienteBrevo cliente = nuevoCliente(2_000, 100, 2);
+		codigo.set(400);
+
+		for (int i = 0; i < 4; i++) {
+			assertThatThrownBy(() -> cliente.enviar(MENSAJE)).isInstanceOf(HttpClientErrorException.class);
+		}
+
+		assertThat(recibidas).hasValue(4);
+		assertThat(cliente.metricas().circuito()).isEqualTo("CERRADO");
+		assertThat(cliente.metricas().rechazados()).isEqualTo(4);
+	}
+
+	@Test
+	void elLimitadorEspaciaLosEnviosYCortaLasEsperasLargas() {
+		ClienteBrevo lento = nuevoCliente(2_000, 5, 5);
+		long inicio = System.nanoTime();
+		for (int i = 0; i < 7; i++) {
+			lento.enviar(MENSAJE);
+		}
+		// Cinco salen en la ráfaga inicial y las otras dos esperan 200 ms cada una.
+		assertThat((System.nanoTime() - inicio) / 1_000_000).isGreaterThanOrEqualTo(350);
+
+		ClienteBrevo sinEspera = new ClienteBrevo(
+				RestClient.builder(), url(), "clave-prueba", 1_000, 2_000, 1, 0, 5, 1);
+		sinEspera.enviar(MENSAJE);
+		assertThatThrownBy(() -> sinEspera.enviar(MENSAJE)).isInstanceOf(EnvioNoDisponibleException.class);
+		assertThat(sinEspera.metricas().limitadosPorTasa()).isEqualTo(1);
+		assertThat(sinEspera.metricas().enviados()).isEqualTo(1);
+	}
+
+	private ClienteBrevo nuevoCliente(long tiempoRespuestaMs, double porSegundo, int fallosParaAbrir) {
+		return new ClienteBrevo(
+				RestClient.builder(),
+				url(),
+				"clave-prueba",
+				1_000,
+				tiempoRespuestaMs,
+				porSegundo,
+				5_000,
+				fallosParaAbrir,
+				1);
+	}
+
+	private String url() {
+		return "http://localhost:" + brevo.getAddress().getPort() + "/v3";
+	}
+}
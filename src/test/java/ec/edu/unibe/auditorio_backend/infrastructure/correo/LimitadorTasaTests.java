@@ -0,0 +1,93 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Comprueba la reposición de fichas y el límite de espera con un reloj que
+ * cada prueba avanza a mano. Las esperas se leen de {@code reservar}, así
+ * ninguna prueba duerme.
+ */
+class LimitadorTasaTests {
+
+	private static final long MILISEGUNDO = 1_000_000L;
+
+	private final AtomicLong reloj = new AtomicLong(5_000_000_000L);
+
+	@Test
+	void admiteUnaRafagaDelTamanoDeLaCapacidad() throws InterruptedException {
+		LimitadorTasa limitador = new LimitadorTasa(10, 3, reloj::get);
+
+		assertThat(limitador.adquirir(Duration.ZERO)).isTrue();
+		assertThat(limitador.adquirir(Duration.ZERO)).isTrue();
+		assertThat(limitador.adquirir(Duration.ZERO)).isTrue();
+		assertThat(limitador.adquirir(Duration.ZERO)).isFalse();
+	}
+
+	@Test
+	void sinFichasIndicaCuantoEsperarPorLaSiguiente() {
+		LimitadorTasa limitador = new LimitadorTasa(10, 1, reloj::get);
+		assertThat(limitador.reservar(0)).isZero();
+
+		avanzar(40 * MILISEGUNDO);
+
+		assertThat(limitador.reservar(Long.MAX_VALUE)).isEqualTo(60 * MILISEGUNDO);
+		// La ficha ya reservada desplaza a la siguiente un intervalo completo.
+		assertThat(limitador.reservar(Long.MAX_VALUE)).isEqualTo(160 * MILISEGUNDO);
+	}
+
+	@Test
+	void unaEsperaMayorAlMaximoNoConsumeFicha() {
+		LimitadorTasa limitador = new LimitadorTasa(10, 1, reloj::get);
+		assertThat(limitador.reservar(0)).isZero();
+
+		assertThat(limitador.reservar(99 * MILISEGUNDO)).isEqualTo(-1);
+		assertThat(limitador.reservar(99 * MILISEGUNDO)).isEqualTo(-1);
+		assertThat(limitador.reservar(100 * MILISEGUNDO)).isEqualTo(100 * MILISEGUNDO);
+	}
+
+	@Test
+	void laReposicionNoSuperaLaCapacidad() throws InterruptedException {
+		LimitadorTasa limitador = new LimitadorTasa(10, 2, reloj::get);
+		assertThat(limitador.reservar(0)).isZero();
+		assertThat(limitador.reservar(0)).isZero();
+
+		avanzar(10_000 * MILISEGUNDO);
+
+		assertThat(limitador.adquirir(Duration.ZERO)).isTrue();
+		assertThat(limitador.adquirir(Duration.ZERO)).isTrue();
+		assertThat(limitador.adquirir(Duration.ZERO)).isFalse();
+	}
+
+	@Test
+	void reponeFichasSegunElTiempoTranscurrido() {
+		LimitadorTasa limitador = new LimitadorTasa(4, 4, reloj::get);
+		for (int i = 0; i < 4; i++) {
+			assertThat(limitador.reservar(0)).isZero();
+		}
+		assertThat(limitador.reservar(0)).isEqualTo(-1);
+
+		avanzar(500 * MILISEGUNDO);
+
+		assertThat(limitador.reservar(0)).isZero();
+		assertThat(limitador.reservar(0)).isZero();
+		assertThat(limitador.reservar(0)).isEqualTo(-1);
+	}
+
+	@Test
+	void rechazaTasaOCapacidadNoPositivas() {
+		assertThatThrownBy(() -> new LimitadorTasa(0, 1, reloj::get))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new LimitadorTasa(1, 0, reloj::get))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void avanzar(long nanos) {
+		reloj.addAndGet(nanos);
+	}
+}
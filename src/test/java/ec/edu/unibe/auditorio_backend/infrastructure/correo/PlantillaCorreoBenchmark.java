@@ -0,0 +1,96 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara {@link PlantillaCorreo} con el armado anterior del correo de cambio
+ * de estado ({@code String.formatted} y cinco {@code replace} por campo).
+ * No forma parte de las pruebas; se ejecuta con:
+ *
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     "-Dexec.args=-cp %classpath org.openjdk.jmh.Main PlantillaCorreoBenchmark"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlantillaCorreoBenchmark {
+
+	private static final String HTML = """
+			<!doctype html>
+			<html lang="es">
+			<body style="margin:0;background:#f3f6fa;font-family:Arial,sans-serif;color:#1C2544;">
+			  <div style="max-width:620px;margin:24px auto;background:#fff;border-radius:12px;overflow:hidden;border:1px solid #dce4ee;">
+			    <div style="background:#1C2544;padding:24px;color:#fff;border-bottom:6px solid #FECC0D;">
+			      <div style="font-size:22px;font-weight:700;">Reservas Auditorio UNIB.E</div>
+			    </div>
+			    <div style="padding:28px;">
+			      <p>Hola, <strong>{{nombre}}</strong>.</p>
+			      <p>El estado de su reserva fue actualizado a:</p>
+			      <div style="font-size:22px;font-weight:700;color:#004990;margin:18px 0;">{{estado}}</div>
+			      <table style="width:100%;border-collapse:collapse;line-height:1.7;">
+			        <tr><td><strong>Evento</strong></td><td>{{evento}}</td></tr>
+			        <tr><td><strong>Fecha</strong></td><td>{{fecha}}</td></tr>
+			        <tr><td><strong>Horario</strong></td><td>{{horaInicio}} - {{horaFin}}</td></tr>
+			      </table>
+			      {{{detalleMotivo}}}
+			      <p style="margin-top:26px;color:#596579;">Este es un mensaje automatico del sistema de reservas.</p>
+			    </div>
+			  </div>
+			</body>
+			</html>
+			""";
+
+	private static final String FORMATO = HTML
+			.replace("100%", "100%%")
+			.replace("{{{detalleMotivo}}}", "%s")
+			.replaceAll("\\{\\{\\w+}}", "%s");
+
+	private final PlantillaCorreo plantilla = PlantillaCorreo.compilar(
+			HTML, "nombre", "estado", "evento", "fecha", "horaInicio", "horaFin", "detalleMotivo");
+
+	private final String nombre = "María José";
+	private final String estado = "APROBADO";
+	private final String evento = "Congreso de Ingeniería & Tecnología <2030>";
+	private final String motivo = "Se requiere confirmar el \"aforo\" con el área de eventos";
+
+	@Benchmark
+	public String plantillaCompilada() {
+		return plantilla.renderizar(nombre, estado, evento, "14/03/2030", "09:00", "11:00",
+				"<div><strong>Motivo:</strong> " + PlantillaCorreo.escaparHtml(motivo) + "</div>");
+	}
+
+	@Benchmark
+	public String formatoConReemplazos() {
+		return FORMATO.formatted(
+				escaparConReemplazos(nombre),
+				escaparConReemplazos(estado),
+				escaparConReemplazos(evento),
+				"14/03/2030",
+				"09:00",
+				"11:00",
+				"<div><strong>Motivo:</strong> " + escaparConReemplazos(motivo) + "</div>");
+	}
+
+	private static String escaparConReemplazos(String valor) {
+		return valor.replace("&", "&amp;")
+				.replace("<", "&lt;")
+				.replace(">", "&gt;")
+				.replace("\"", "&quot;")
+				.replace("'", "&#39;");
+	}
+}
@@ -0,0 +1,102 @@
+package ec.edu.unibe.auditorio_backend.infrastructure.correo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Comprueba el escape de los valores, la diferencia entre {@code {{x}}} y
+ * {@code {{{x}}}} y que las plantillas mal escritas fallen al compilar y no
+ * al enviar el primer correo.
+ */
+class PlantillaCorreoTests {
+
+	@Test
+	void escapaLosCincoCaracteresEspecialesDeHtml() {
+		PlantillaCorreo plantilla = PlantillaCorreo.compilar("<td>{{valor}}</td>", "valor");
+
+		assertThat(plantilla.renderizar("Tom & \"Ana\" <b>O'Neil</b>"))
+				.isEqualTo("<td>Tom &amp; &quot;Ana&quot; &lt;b&gt;O&#39;Neil&lt;/b&gt;</td>");
+		assertThat(PlantillaCorreo.escaparHtml("&amp;")).isEqualTo("&amp;amp;");
+		assertThat(PlantillaCorreo.escaparHtml("Sin cambios")).isEqualTo("Sin cambios");
+	}
+
+	@Test
+	void unValorNuloQuedaVacio() {
+		PlantillaCorreo plantilla = PlantillaCorreo.compilar("[{{a}}|{{{b}}}]", "a", "b");
+
+		assertThat(plantilla.renderizar(null, null)).isEqualTo("[|]");
+		assertThat(PlantillaCorreo.escaparHtml(null)).isEmpty();
+	}
+
+	@Test
+	void lasTresLlavesInsertanElValorSinEscapar() {
+		PlantillaCorreo plantilla = PlantillaCorreo.compilar(
+				"<p>{{texto}}</p>{{{fragmento}}}", "texto", "fragmento");
+
+		assertThat(plantilla.renderizar("<i>", "<div>Motivo</div>"))
+				.isEqualTo("<p>&lt;i&gt;</p><div>Motivo</div>");
+	}
+
+	@Test
+	void losValoresSiguenElOrdenDeDeclaracionYPuedenRepetirse() {
+		PlantillaCorreo plantilla = PlantillaCorreo.compilar(
+				"{{ fin }} - {{inicio}} / {{inicio}}", "inicio", "fin");
+
+		assertThat(plantilla.renderizar("09:00", 11)).isEqualTo("11 - 09:00 / 09:00");
+	}
+
+	@Test
+	void coincideConElArmadoAnteriorConFormattedYReemplazos() {
+		String anterior = "<p>Hola, <strong>%s</strong>.</p><table style=\"width:100%%;\"><tr><td>%s</td></tr></table>%s"
+				.formatted(escaparConReemplazos("María & José"), escaparConReemplazos("Foro <IA> \"2030\""), "");
+		PlantillaCorreo plantilla = PlantillaCorreo.compilar(
+				"<p>Hola, <strong>{{nombre}}</strong>.</p><table style=\"width:100%;\"><tr><td>{{evento}}</td></tr></table>{{{detalle}}}",
+				"nombre", "evento", "detalle");
+
+		assertThat(plantilla.renderizar("María & José", "Foro <IA> \"2030\"", "")).isEqualTo(anterior);
+	}
+
+	@Test
+	void rechazaUnaVariableNoDeclarada() {
+		assertThatThrownBy(() -> PlantillaCorreo.compilar("{{nombre}} {{apellido}}", "nombre"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Variable no declarada en la plantilla: apellido");
+	}
+
+	@Test
+	void rechazaUnaVariableDeclaradaQueNoSeUsa() {
+		assertThatThrownBy(() -> PlantillaCorreo.compilar("{{nombre}}", "nombre", "motivo"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("La plantilla no usa la variable motivo");
+	}
+
+	@Test
+	void rechazaUnaVariableSinCerrar() {
+		assertThatThrownBy(() -> PlantillaCorreo.compilar("Hola {{nombre", "nombre"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Variable sin cerrar en la posición 5");
+		assertThatThrownBy(() -> PlantillaCorreo.compilar("{{{detalle}}", "detalle"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Variable sin cerrar en la posición 0");
+	}
+
+	@Test
+	void rechazaUnaCantidadDistintaDeValores() {
+		PlantillaCorreo plantilla = PlantillaCorreo.compilar("{{a}}{{b}}", "a", "b");
+
+		assertThatThrownBy(() -> plantilla.renderizar("solo uno"))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Se esperaban 2 valores y se recibieron 1");
+	}
+
+	// Escape que usaba CorreoReservaService antes de las plantillas compiladas.
+	private static String escaparConReemplazos(String valor) {
+		return valor.replace("&", "&amp;")
+				.replace("<", "&lt;")
+				.replace(">", "&gt;")
+				.replace("\"", "&quot;")
+				.replace("'", "&#39;");
+	}
+}